@@ -0,0 +1,29 @@
+package labseq.exception;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Provider
+public class ComputeSaturatedExceptionMapper implements ExceptionMapper<ComputeSaturatedException> {
+
+    @Override
+    public Response toResponse(ComputeSaturatedException exception) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Service Saturated");
+        error.put("message", exception.getMessage());
+        error.put("status", 503);
+
+        return Response
+                .status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, exception.getRetryAfterSeconds())
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error)
+                .build();
+    }
+}
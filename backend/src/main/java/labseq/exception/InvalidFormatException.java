@@ -0,0 +1,8 @@
+package labseq.exception;
+
+public class InvalidFormatException extends RuntimeException {
+
+    public InvalidFormatException(String message) {
+        super(message);
+    }
+}
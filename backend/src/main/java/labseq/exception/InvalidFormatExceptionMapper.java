@@ -0,0 +1,27 @@
+package labseq.exception;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Provider
+public class InvalidFormatExceptionMapper implements ExceptionMapper<InvalidFormatException> {
+
+    @Override
+    public Response toResponse(InvalidFormatException exception) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Invalid Format");
+        error.put("message", exception.getMessage());
+        error.put("status", 400);
+
+        return Response
+                .status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error)
+                .build();
+    }
+}
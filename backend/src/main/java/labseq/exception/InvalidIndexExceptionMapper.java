@@ -1,5 +1,6 @@
 package labseq.exception;
 
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -19,6 +20,7 @@ public class InvalidIndexExceptionMapper implements ExceptionMapper<InvalidIndex
 
         return Response
                 .status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
                 .entity(error)
                 .build();
     }
@@ -0,0 +1,8 @@
+package labseq.exception;
+
+public class WorkLimitExceededException extends RuntimeException {
+
+    public WorkLimitExceededException(String message) {
+        super(message);
+    }
+}
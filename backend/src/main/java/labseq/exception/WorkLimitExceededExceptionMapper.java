@@ -0,0 +1,27 @@
+package labseq.exception;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Provider
+public class WorkLimitExceededExceptionMapper implements ExceptionMapper<WorkLimitExceededException> {
+
+    @Override
+    public Response toResponse(WorkLimitExceededException exception) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Work Limit Exceeded");
+        error.put("message", exception.getMessage());
+        error.put("status", 413);
+
+        return Response
+                .status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package labseq.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Request for the LabSeq values of a set of indices")
+public class LabSeqBatchRequest {
+
+    @Schema(description = "Indices to calculate, in the order the results should be returned; duplicates are allowed",
+            example = "[5000, 10, 123456, 10]")
+    @JsonProperty("indices")
+    private List<Integer> indices;
+
+
+    public LabSeqBatchRequest() {}
+
+
+    public LabSeqBatchRequest(List<Integer> indices) {
+        this.indices = indices;
+    }
+
+    public List<Integer> getIndices() {
+        return indices;
+    }
+
+    public void setIndices(List<Integer> indices) {
+        this.indices = indices;
+    }
+}
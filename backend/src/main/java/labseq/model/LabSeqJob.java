@@ -0,0 +1,137 @@
+package labseq.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Asynchronous LabSeq calculation job")
+public class LabSeqJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Schema(description = "Job identifier", example = "1b4e28ba-2fa1-11d2-883f-0016d3cca427")
+    @JsonProperty("id")
+    private String id;
+
+    @Schema(description = "The index n requested", example = "10000000")
+    @JsonProperty("n")
+    private int n;
+
+    @Schema(description = "Current job state", example = "RUNNING")
+    @JsonProperty("state")
+    private volatile State state;
+
+    @Schema(description = "Highest index the calculation has reached so far", example = "4882812")
+    @JsonProperty("progressIndex")
+    private volatile int progressIndex;
+
+    @Schema(description = "Number of digits in the result, once completed", example = "1220795")
+    @JsonProperty("digits")
+    private volatile int digits;
+
+    @Schema(description = "When the job was submitted")
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    @Schema(description = "When the job finished, if it has")
+    @JsonProperty("finishedAt")
+    private volatile Instant finishedAt;
+
+    @Schema(description = "Failure reason for failed jobs")
+    @JsonProperty("error")
+    private volatile String error;
+
+
+    public LabSeqJob() {}
+
+
+    public LabSeqJob(String id, int n) {
+        this.id = id;
+        this.n = n;
+        this.state = State.QUEUED;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters e Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public void setN(int n) {
+        this.n = n;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public synchronized void setState(State state) {
+        this.state = state;
+    }
+
+    /**
+     * Moves the job to state only if it is still in expected. Returns whether it moved.
+     */
+    public synchronized boolean transition(State expected, State state) {
+        if (this.state != expected) {
+            return false;
+        }
+        this.state = state;
+        return true;
+    }
+
+    public int getProgressIndex() {
+        return progressIndex;
+    }
+
+    public void setProgressIndex(int progressIndex) {
+        this.progressIndex = progressIndex;
+    }
+
+    public int getDigits() {
+        return digits;
+    }
+
+    public void setDigits(int digits) {
+        this.digits = digits;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,28 @@
+package labseq.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Request to calculate a LabSeq value asynchronously")
+public class LabSeqJobRequest {
+
+    @Schema(description = "The index n to calculate", example = "10000000", required = true)
+    @JsonProperty("n")
+    private Integer n;
+
+
+    public LabSeqJobRequest() {}
+
+
+    public LabSeqJobRequest(Integer n) {
+        this.n = n;
+    }
+
+    public Integer getN() {
+        return n;
+    }
+
+    public void setN(Integer n) {
+        this.n = n;
+    }
+}
@@ -0,0 +1,44 @@
+package labseq.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.math.BigInteger;
+
+@Schema(description = "One element of a streamed LabSeq range")
+public class LabSeqRangeItem {
+
+    @Schema(description = "The index n", example = "10")
+    @JsonProperty("n")
+    private int n;
+
+    @Schema(description = "The LabSeq value at n as string", example = "3")
+    @JsonProperty("value")
+    private String value;
+
+    @Schema(description = "Number of digits in the value", example = "1")
+    @JsonProperty("digits")
+    private int digits;
+
+
+    public LabSeqRangeItem() {}
+
+
+    public LabSeqRangeItem(int n, BigInteger value) {
+        this.n = n;
+        this.value = value.toString();
+        this.digits = this.value.length();
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getDigits() {
+        return digits;
+    }
+}
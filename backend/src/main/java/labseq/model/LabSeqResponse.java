@@ -1,5 +1,8 @@
 package labseq.model;
 
+import labseq.service.engine.DecimalWriter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 
@@ -12,7 +15,7 @@ public class LabSeqResponse {
     @JsonProperty("n")
     private int n;
 
-    @Schema(description = "The calculated LabSeq value as string (preserves precision for large numbers)", 
+    @Schema(description = "The calculated LabSeq value as string in the requested format (preserves precision for large numbers)", 
             example = "123456789012345678901234567890")
     @JsonProperty("value")
     private String value; 
@@ -21,24 +24,92 @@ public class LabSeqResponse {
     @JsonProperty("calculationTime")
     private long calculationTime;
 
+    @Schema(description = "Calculation time in nanoseconds", example = "45210")
+    @JsonProperty("calculationNanos")
+    private long calculationNanos;
+
     @Schema(description = "Whether the value was retrieved from cache", example = "true")
     @JsonProperty("fromCache")
     private boolean fromCache;
 
-    @Schema(description = "Number of digits in the result", example = "1523")
+    @Schema(description = "Number of decimal digits in the result (decimal format only)", example = "1523")
     @JsonProperty("digits")
-    private int digits; 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer digits; 
+
+    @Schema(description = "Number of bits in the result", example = "5058")
+    @JsonProperty("bitLength")
+    private int bitLength;
+
+    @Schema(description = "Encoding of the value", enumeration = {"decimal", "hex", "base64"}, example = "decimal")
+    @JsonProperty("format")
+    private String format = ValueFormat.DECIMAL.parameter();
+
+    @Schema(description = "Calculation strategy that produced the value", example = "iterative")
+    @JsonProperty("strategy")
+    private String strategy;
+
+    @Schema(description = "Where the value came from",
+            enumeration = {"long-table", "memo-table", "cache", "checkpoint", "frontier", "in-flight", "computed"}, example = "computed")
+    @JsonProperty("source")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String source;
+
+    @Schema(description = "Recurrence additions performed to produce the value (0 when it was read from storage)", example = "1000")
+    @JsonProperty("additions")
+    private long additions;
+
+    // O valor só é convertido para String se alguém o pedir; o LabSeqResponseWriter escreve-o diretamente
+    @JsonIgnore
+    private BigInteger number;
+
+    @JsonIgnore
+    private ValueFormat valueFormat = ValueFormat.DECIMAL;
+
+    // Resposta de um valor da tabela de longs em decimal, tal como saiu do serviço: o corpo já está escrito
+    @JsonIgnore
+    private boolean longTable;
 
 
     public LabSeqResponse() {}
 
 
     public LabSeqResponse(int n, BigInteger value, long calculationTime, boolean fromCache) {
+        this(n, value, calculationTime, fromCache, ValueFormat.DECIMAL);
+    }
+
+    public LabSeqResponse(int n, BigInteger value, long calculationTime, boolean fromCache, ValueFormat valueFormat) {
         this.n = n;
-        this.value = value.toString(); 
+        this.number = value;
         this.calculationTime = calculationTime;
         this.fromCache = fromCache;
-        this.digits = value.toString().length(); 
+        this.bitLength = value.bitLength();
+        this.valueFormat = valueFormat;
+        this.format = valueFormat.parameter();
+        // Contar dígitos decimais só compensa quando o valor vai mesmo em decimal
+        this.digits = valueFormat == ValueFormat.DECIMAL ? DecimalWriter.digits(value) : null;
+    }
+
+    public LabSeqResponse(int n, LabSeqResult result) {
+        this(n, result, ValueFormat.DECIMAL);
+    }
+
+    public LabSeqResponse(int n, LabSeqResult result, ValueFormat valueFormat) {
+        this(n, result.getValue(), result.getCalculationMillis(), result.isFromCache(), valueFormat);
+        this.calculationNanos = result.getCalculationNanos();
+        this.strategy = result.getStrategy();
+        this.source = result.getSource().parameter();
+        this.additions = result.getAdditions();
+        this.longTable = result.getSource() == LabSeqResult.Source.LONG_TABLE && valueFormat == ValueFormat.DECIMAL;
+    }
+
+    /**
+     * Whether this is the unmodified response for a long-table value in decimal, whose body
+     * can be written from the precomputed bytes.
+     */
+    @JsonIgnore
+    public boolean isLongTable() {
+        return longTable;
     }
 
     // Getters e Setters
@@ -51,12 +122,18 @@ public class LabSeqResponse {
     }
 
     public String getValue() {
+        if (value == null && number != null) {
+            value = valueFormat.format(number);
+        }
         return value;
     }
 
     public void setValue(String value) {
         this.value = value;
-        this.digits = value != null ? value.length() : 0;
+        this.number = null;
+        if (valueFormat == ValueFormat.DECIMAL) {
+            this.digits = value != null ? value.length() : 0;
+        }
     }
 
     public long getCalculationTime() {
@@ -67,6 +144,14 @@ public class LabSeqResponse {
         this.calculationTime = calculationTime;
     }
 
+    public long getCalculationNanos() {
+        return calculationNanos;
+    }
+
+    public void setCalculationNanos(long calculationNanos) {
+        this.calculationNanos = calculationNanos;
+    }
+
     public boolean isFromCache() {
         return fromCache;
     }
@@ -75,21 +160,78 @@ public class LabSeqResponse {
         this.fromCache = fromCache;
     }
 
-    public int getDigits() {
+    public Integer getDigits() {
         return digits;
     }
 
-    public void setDigits(int digits) {
+    public void setDigits(Integer digits) {
         this.digits = digits;
     }
 
+    public int getBitLength() {
+        return bitLength;
+    }
+
+    public void setBitLength(int bitLength) {
+        this.bitLength = bitLength;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+        this.valueFormat = ValueFormat.fromParameter(format);
+    }
+
+    /**
+     * The value itself, or null when this response was built from an already encoded string.
+     */
+    @JsonIgnore
+    public BigInteger getNumber() {
+        return number;
+    }
+
+    @JsonIgnore
+    public ValueFormat getValueFormat() {
+        return valueFormat;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
     @Override
     public String toString() {
-        return String.format("LabSeqResponse{n=%d, value='%s...', digits=%d, calculationTime=%dms, fromCache=%s}",
+        return String.format("LabSeqResponse{n=%d, value='%s...', format=%s, digits=%s, bitLength=%d, calculationTime=%dms, fromCache=%s, strategy=%s}",
                 n, 
-                value.length() > 50 ? value.substring(0, 50) : value,
+                bitLength <= 160 ? getValue() : value != null ? value.substring(0, Math.min(50, value.length())) : "",
+                format,
                 digits,
+                bitLength,
                 calculationTime, 
-                fromCache);
+                fromCache,
+                strategy);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getAdditions() {
+        return additions;
+    }
+
+    public void setAdditions(long additions) {
+        this.additions = additions;
     }
-}
\ No newline at end of file
+}
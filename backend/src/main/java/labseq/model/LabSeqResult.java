@@ -0,0 +1,88 @@
+package labseq.model;
+
+import java.math.BigInteger;
+
+/**
+ * Outcome of a single LabSeq calculation: the value plus what actually produced it.
+ */
+public final class LabSeqResult {
+
+    /**
+     * Where the value came from. Only {@link #COMPUTED} and {@link #IN_FLIGHT} involve work
+     * for the request; the others are reads of a value that was already stored.
+     */
+    public enum Source {
+        LONG_TABLE,
+        MEMO_TABLE,
+        CACHE,
+        CHECKPOINT,
+        // Lido dos quatro valores mais altos já calculados
+        FRONTIER,
+        // Lido de uma caminhada já em curso por outro pedido
+        IN_FLIGHT,
+        COMPUTED;
+
+        public boolean isStored() {
+            return this != COMPUTED && this != IN_FLIGHT;
+        }
+
+        // Nome usado na API e nas métricas: LONG_TABLE -> "long-table"
+        public String parameter() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private final BigInteger value;
+    private final String strategy;
+    private final Source source;
+    private final long additions;
+    private final long calculationNanos;
+
+    public LabSeqResult(BigInteger value, String strategy, Source source, long additions) {
+        this(value, strategy, source, additions, 0L);
+    }
+
+    public LabSeqResult(BigInteger value, String strategy, Source source, long additions, long calculationNanos) {
+        this.value = value;
+        this.strategy = strategy;
+        this.source = source;
+        this.additions = additions;
+        this.calculationNanos = calculationNanos;
+    }
+
+    public LabSeqResult withCalculationNanos(long nanos) {
+        return new LabSeqResult(value, strategy, source, additions, nanos);
+    }
+
+    public BigInteger getValue() {
+        return value;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Recurrence steps (l(i) = l(i-4) + l(i-3)) walked to produce this value; 0 when it was
+     * read from storage or obtained by exponentiation alone.
+     */
+    public long getAdditions() {
+        return additions;
+    }
+
+    public boolean isFromCache() {
+        return source.isStored();
+    }
+
+    public long getCalculationNanos() {
+        return calculationNanos;
+    }
+
+    public long getCalculationMillis() {
+        return calculationNanos / 1_000_000L;
+    }
+}
@@ -0,0 +1,120 @@
+package labseq.model;
+
+import labseq.exception.InvalidFormatException;
+import labseq.service.engine.DecimalWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Text encodings of a LabSeq value in JSON responses. Hex and base64 are produced from the
+ * two's-complement bytes in linear time; only decimal needs a radix conversion.
+ */
+public enum ValueFormat {
+
+    DECIMAL {
+        @Override
+        public void write(BigInteger value, OutputStream out) throws IOException {
+            DecimalWriter.write(value, out);
+        }
+    },
+
+    HEX {
+        @Override
+        public void write(BigInteger value, OutputStream out) throws IOException {
+            byte[] bytes = value.toByteArray();
+            byte[] chunk = new byte[8192];
+            int length = 0;
+            boolean leading = true;
+            for (byte b : bytes) {
+                for (int shift = 4; shift >= 0; shift -= 4) {
+                    int nibble = (b >> shift) & 0xF;
+                    // Sem zeros à esquerda, como BigInteger.toString(16)
+                    if (leading && nibble == 0) {
+                        continue;
+                    }
+                    leading = false;
+                    chunk[length++] = HEX_DIGITS[nibble];
+                    if (length == chunk.length) {
+                        out.write(chunk, 0, length);
+                        length = 0;
+                    }
+                }
+            }
+            if (leading) {
+                chunk[length++] = '0';
+            }
+            out.write(chunk, 0, length);
+        }
+    },
+
+    BASE64 {
+        @Override
+        public void write(BigInteger value, OutputStream out) throws IOException {
+            OutputStream encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out));
+            encoder.write(value.toByteArray());
+            // close() escreve o padding final, mas não pode fechar o stream da resposta
+            encoder.close();
+        }
+    };
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Writes the encoded value to out as US-ASCII.
+     */
+    public abstract void write(BigInteger value, OutputStream out) throws IOException;
+
+    public String format(BigInteger value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    public String parameter() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ValueFormat fromParameter(String parameter) {
+        for (ValueFormat format : values()) {
+            if (format.parameter().equalsIgnoreCase(parameter)) {
+                return format;
+            }
+        }
+        throw new InvalidFormatException("Unknown format '" + parameter + "'. Supported formats: decimal, hex, base64");
+    }
+
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            // O stream subjacente pertence a quem chamou
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package labseq.resource;
+
+import labseq.service.ComputeScheduler;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Liveness;
+
+/**
+ * /q/health/live: DOWN only when the compute pool can no longer accept work and a restart is
+ * the fix. A busy pool is a readiness concern, not a liveness one.
+ */
+@Liveness
+@ApplicationScoped
+public class ComputeLivenessCheck implements HealthCheck {
+
+    @Inject
+    ComputeScheduler computeScheduler;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("labseq-compute-pool")
+            .status(computeScheduler.isRunning())
+            .withData("poolSize", computeScheduler.getPoolSize())
+            .withData("active", computeScheduler.getActiveCount())
+            .build();
+    }
+}
@@ -0,0 +1,86 @@
+package labseq.resource;
+
+import labseq.service.CacheWarmup;
+import labseq.service.ComputeScheduler;
+import labseq.service.LabSeqMetrics;
+import labseq.store.ValueCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.time.Duration;
+
+/**
+ * Takes the pod out of rotation (/q/health/ready DOWN) while its compute pool is saturated.
+ *
+ * Saturated means the compute queue holds at least {@code labseq.health.max-queue-depth}
+ * calculations or the recent p99 of the time spent waiting in it is at least
+ * {@code labseq.health.max-queue-wait}. Calculation time itself is not used: a huge n is slow
+ * on an idle pod too, and only waiting shows that the workers cannot keep up. Above
+ * {@code degraded-ratio} of either limit the check stays UP but reports {@code state=degraded},
+ * so dashboards see the pod filling up before the load balancer drops it. Cache and warm-up
+ * state are included as data.
+ */
+@Readiness
+@ApplicationScoped
+public class ComputeReadinessCheck implements HealthCheck {
+
+    static final String OK = "ok";
+    static final String DEGRADED = "degraded";
+    static final String SATURATED = "saturated";
+
+    @Inject
+    ComputeScheduler computeScheduler;
+
+    @Inject
+    LabSeqMetrics metrics;
+
+    @Inject
+    ValueCache valueCache;
+
+    @Inject
+    CacheWarmup cacheWarmup;
+
+    @ConfigProperty(name = "labseq.health.max-queue-depth", defaultValue = "48")
+    int maxQueueDepth;
+
+    @ConfigProperty(name = "labseq.health.max-queue-wait", defaultValue = "5S")
+    Duration maxQueueWait;
+
+    @ConfigProperty(name = "labseq.health.degraded-ratio", defaultValue = "0.5")
+    double degradedRatio;
+
+    @Override
+    public HealthCheckResponse call() {
+        int queueDepth = computeScheduler.getQueueDepth();
+        long waitP99Nanos = metrics.getRecentQueueWaitP99Nanos();
+        String state = state(queueDepth, maxQueueDepth, waitP99Nanos, maxQueueWait.toNanos(), degradedRatio);
+
+        return HealthCheckResponse.named("labseq-compute")
+            .status(!SATURATED.equals(state))
+            .withData("state", state)
+            .withData("queueDepth", queueDepth)
+            .withData("maxQueueDepth", maxQueueDepth)
+            .withData("active", computeScheduler.getActiveCount())
+            .withData("queueWaitP99Millis", waitP99Nanos / 1_000_000)
+            .withData("maxQueueWaitMillis", maxQueueWait.toMillis())
+            .withData("cacheEntries", valueCache.getEntryCount())
+            .withData("cacheWeightedBytes", valueCache.getWeightedBytes())
+            .withData("cacheMaxBytes", valueCache.getMaxBytes())
+            .withData("warmupDone", cacheWarmup.isDone())
+            .build();
+    }
+
+    static String state(int queueDepth, int maxQueueDepth, long waitP99Nanos, long maxWaitNanos, double degradedRatio) {
+        if (queueDepth >= maxQueueDepth || waitP99Nanos >= maxWaitNanos) {
+            return SATURATED;
+        }
+        if (queueDepth >= maxQueueDepth * degradedRatio || waitP99Nanos >= maxWaitNanos * degradedRatio) {
+            return DEGRADED;
+        }
+        return OK;
+    }
+}
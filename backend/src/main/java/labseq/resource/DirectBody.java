@@ -0,0 +1,10 @@
+package labseq.resource;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A response body leased from off-heap memory, written by {@link DirectBodyWriter}, which
+ * releases the lease once the write completes.
+ */
+public record DirectBody(ByteBuf buffer) {
+}
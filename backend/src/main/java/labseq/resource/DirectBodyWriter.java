@@ -0,0 +1,40 @@
+package labseq.resource;
+
+import io.netty.buffer.ByteBuf;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes a {@link DirectBody} from its off-heap buffer to the response stream and releases the
+ * lease once it is written.
+ */
+@Provider
+public class DirectBodyWriter implements MessageBodyWriter<DirectBody> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return DirectBody.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(DirectBody body, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream out)
+            throws IOException {
+        ByteBuf buffer = body.buffer();
+        try {
+            httpHeaders.putSingle(HttpHeaders.CONTENT_LENGTH, buffer.readableBytes());
+            // O Netty copia por blocos: o valor nunca passa inteiro por um array no heap
+            buffer.getBytes(buffer.readerIndex(), out, buffer.readableBytes());
+        } finally {
+            buffer.release();
+        }
+    }
+}
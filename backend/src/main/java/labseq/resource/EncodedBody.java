@@ -0,0 +1,12 @@
+package labseq.resource;
+
+/**
+ * A response body made of a stored encoded value between the fields of this response, already
+ * in its content coding, written by {@link EncodedBodyWriter}.
+ */
+public record EncodedBody(byte[] prefix, byte[] payload, byte[] suffix) {
+
+    public int length() {
+        return prefix.length + payload.length + suffix.length;
+    }
+}
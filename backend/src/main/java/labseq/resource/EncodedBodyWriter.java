@@ -0,0 +1,36 @@
+package labseq.resource;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes an {@link EncodedBody} part by part, so the stored value is never copied into a
+ * single array with the fields around it.
+ */
+@Provider
+public class EncodedBodyWriter implements MessageBodyWriter<EncodedBody> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return EncodedBody.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(EncodedBody body, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream out)
+            throws IOException {
+        // O tamanho é conhecido: evita a codificação chunked
+        httpHeaders.putSingle(HttpHeaders.CONTENT_LENGTH, body.length());
+        out.write(body.prefix());
+        out.write(body.payload());
+        out.write(body.suffix());
+    }
+}
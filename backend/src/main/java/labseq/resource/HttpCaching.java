@@ -0,0 +1,286 @@
+package labseq.resource;
+
+import labseq.store.EncodedValue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * HTTP validators and content codings for values of the sequence.
+ *
+ * l(n) never changes, so the entity tag of a representation only depends on n, on how the
+ * value is encoded (decimal, hex, base64 or binary) and on the content coding; it can be
+ * checked against If-None-Match before anything is computed.
+ */
+final class HttpCaching {
+
+    static final String IDENTITY = "identity";
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    // Codificações que o servidor produz
+    private static final List<String> CODINGS = List.of(GZIP, DEFLATE, IDENTITY);
+
+    static final String VARY = "Accept, Accept-Encoding";
+
+    // Cabeçalho gzip mínimo (deflate, sem nome nem data, SO desconhecido) e cabeçalho zlib por omissão
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9c};
+    private static final int ADLER_BASE = 65521;
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Strong entity tag of l(n) in a representation and content coding, quoted.
+     */
+    static String etag(int n, String representation, String coding) {
+        StringBuilder tag = new StringBuilder(32).append("\"labseq-").append(n).append('-').append(representation);
+        if (!IDENTITY.equals(coding)) {
+            tag.append('-').append(coding);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * The tag in If-None-Match that matches one of the codings of l(n) in this representation,
+     * or null. Uses the weak comparison RFC 9110 prescribes for If-None-Match.
+     */
+    static String matchingETag(String ifNoneMatch, int n, String representation) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*")) {
+                return etag(n, representation, IDENTITY);
+            }
+            for (String coding : CODINGS) {
+                String etag = etag(n, representation, coding);
+                if (tag.equals(etag)) {
+                    return etag;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The content coding to use for a client's Accept-Encoding: gzip or deflate, whichever has
+     * the higher quality (gzip on a tie), or identity when neither is accepted.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return IDENTITY;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] fields = part.split(";");
+            String coding = fields[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(fields);
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzip = quality;
+                case DEFLATE -> deflate = quality;
+                case "*" -> wildcard = quality;
+                default -> { }
+            }
+        }
+        // Codificações não mencionadas herdam a qualidade de *
+        gzip = gzip < 0 ? wildcard : gzip;
+        deflate = deflate < 0 ? wildcard : deflate;
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : IDENTITY;
+    }
+
+    /**
+     * The characters of a value, as they go in the JSON string, ready to be stored: unchanged,
+     * or as raw deflate blocks that either compressed coding can frame.
+     */
+    static EncodedValue encodeValue(byte[] chars, int bitLength, boolean compressed) {
+        CRC32 crc = new CRC32();
+        crc.update(chars);
+        Adler32 adler = new Adler32();
+        adler.update(chars);
+        byte[] payload = compressed ? deflate(chars, false) : chars;
+        return new EncodedValue(payload, compressed, chars.length, (int) crc.getValue(), (int) adler.getValue(), bitLength);
+    }
+
+    /**
+     * The body head + value + tail in the given content coding, reusing the stored value as is.
+     * Only head and tail are compressed here; the checksums of the whole body are combined from
+     * theirs and the value's.
+     */
+    static EncodedBody body(byte[] head, EncodedValue value, byte[] tail, String coding) {
+        if (IDENTITY.equals(coding)) {
+            return new EncodedBody(head, value.payload(), tail);
+        }
+        // Blocos deflate independentes encadeiam-se: cada parte termina num sync flush, alinhada ao byte
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream(head.length + 16);
+        ByteArrayOutputStream suffix = new ByteArrayOutputStream(tail.length + 32);
+        byte[] deflatedHead = deflate(head, false);
+        byte[] deflatedTail = deflate(tail, true);
+        suffix.writeBytes(deflatedTail);
+        if (GZIP.equals(coding)) {
+            CRC32 headCrc = new CRC32();
+            headCrc.update(head);
+            CRC32 tailCrc = new CRC32();
+            tailCrc.update(tail);
+            int crc = crc32Combine(crc32Combine((int) headCrc.getValue(), value.crc32(), value.length()),
+                (int) tailCrc.getValue(), tail.length);
+            prefix.writeBytes(GZIP_HEADER);
+            writeIntLittleEndian(suffix, crc);
+            writeIntLittleEndian(suffix, head.length + value.length() + tail.length);
+        } else {
+            // "deflate" em HTTP é o formato zlib: cabeçalho de dois bytes e Adler-32 no fim
+            Adler32 headAdler = new Adler32();
+            headAdler.update(head);
+            Adler32 tailAdler = new Adler32();
+            tailAdler.update(tail);
+            int adler = adler32Combine(adler32Combine((int) headAdler.getValue(), value.adler32(), value.length()),
+                (int) tailAdler.getValue(), tail.length);
+            prefix.writeBytes(ZLIB_HEADER);
+            suffix.write(adler >>> 24);
+            suffix.write(adler >>> 16);
+            suffix.write(adler >>> 8);
+            suffix.write(adler);
+        }
+        prefix.writeBytes(deflatedHead);
+        return new EncodedBody(prefix.toByteArray(), value.payload(), suffix.toByteArray());
+    }
+
+    // Blocos deflate sem cabeçalho; os intermédios acabam num sync flush, o último fecha o fluxo
+    private static byte[] deflate(byte[] input, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    /**
+     * CRC-32 of A followed by B, from the CRC-32 of each and the length of B (zlib's crc32_combine).
+     */
+    static int crc32Combine(int crc1, int crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        // Operador que acrescenta um bit zero ao CRC, elevado ao quadrado até cobrir length2 bytes
+        long[] odd = new long[32];
+        long[] even = new long[32];
+        odd[0] = 0xEDB88320L;
+        long row = 1;
+        for (int i = 1; i < 32; i++) {
+            odd[i] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        long crc = crc1 & 0xFFFFFFFFL;
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((length2 & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            length2 >>= 1;
+            if (length2 == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((length2 & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            length2 >>= 1;
+        } while (length2 != 0);
+        return (int) (crc ^ (crc2 & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Adler-32 of A followed by B, from the Adler-32 of each and the length of B (zlib's adler32_combine).
+     */
+    static int adler32Combine(int adler1, int adler2, long length2) {
+        long rem = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= 2L * ADLER_BASE) {
+            sum2 -= 2L * ADLER_BASE;
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return (int) (sum1 | (sum2 << 16));
+    }
+
+    private static long gf2MatrixTimes(long[] matrix, long vector) {
+        long sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(long[] square, long[] matrix) {
+        for (int i = 0; i < 32; i++) {
+            square[i] = gf2MatrixTimes(matrix, matrix[i]);
+        }
+    }
+
+    private static double quality(String[] fields) {
+        for (int i = 1; i < fields.length; i++) {
+            String parameter = fields[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    // Qualidade ilegível: trata como não aceite
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,95 @@
+package labseq.resource;
+
+import labseq.service.AccessLog;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+@Path("/labseq/admin")
+@Tag(name = "LabSeq Admin", description = "Runtime settings of the LabSeq service")
+public class LabSeqAdminResource {
+
+    @Inject
+    AccessLog accessLog;
+
+
+    @GET
+    @Path("/access-log")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Access log settings",
+        description = "Whether the access log is enabled, its sample rate and its queue counters"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Current access log settings"
+    )
+    public Map<String, Object> accessLog() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", accessLog.isEnabled());
+        settings.put("sampleRate", accessLog.getSampleRate());
+        settings.put("queued", accessLog.getQueued());
+        settings.put("written", accessLog.getWritten());
+        settings.put("dropped", accessLog.getDropped());
+        return settings;
+    }
+
+
+    @PUT
+    @Path("/access-log")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Change access log settings",
+        description = "Turns the access log on or off and changes its sample rate without a restart. " +
+                     "Omitted parameters are left unchanged; the change is not persisted across restarts."
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Access log settings after the change"
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Sample rate outside [0, 1]"
+        )
+    })
+    public Response updateAccessLog(
+        @Parameter(description = "Whether requests are logged", example = "false")
+        @QueryParam("enabled") Boolean enabled,
+        @Parameter(description = "Fraction of requests logged, from 0 to 1", example = "0.01")
+        @QueryParam("sampleRate") Double sampleRate
+    ) {
+        if (sampleRate != null && !(sampleRate >= 0 && sampleRate <= 1)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Invalid Sample Rate");
+            error.put("message", "Sample rate must be between 0 and 1. Received: " + sampleRate);
+            error.put("status", 400);
+            return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(error)
+                .build();
+        }
+        if (sampleRate != null) {
+            accessLog.setSampleRate(sampleRate);
+        }
+        if (enabled != null) {
+            accessLog.setEnabled(enabled);
+        }
+        return Response.ok(accessLog()).build();
+    }
+}
@@ -0,0 +1,182 @@
+package labseq.resource;
+
+import labseq.exception.InvalidIndexException;
+import labseq.model.LabSeqJob;
+import labseq.model.LabSeqJobRequest;
+import labseq.service.LabSeqJobService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+@Path("/labseq/jobs")
+@Tag(name = "LabSeq Jobs", description = "Asynchronous calculation of very large LabSeq values")
+public class LabSeqJobResource {
+
+    @Inject
+    LabSeqJobService jobService;
+
+    @Context
+    UriInfo uriInfo;
+
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Submit a calculation job",
+        description = "Starts calculating l(n) in the background and returns immediately with the job id. " +
+                     "Use this for indices whose values take longer than an HTTP request to compute."
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "202",
+            description = "Job accepted",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = LabSeqJob.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Missing or invalid index (must be non-negative integer)"
+        ),
+        @APIResponse(
+            responseCode = "503",
+            description = "The job limit has been reached"
+        )
+    })
+    public Response submit(LabSeqJobRequest request) {
+        // Sem corpo ou sem n seria um NPE (500); é um pedido inválido
+        if (request == null || request.getN() == null) {
+            throw new InvalidIndexException("Job request must contain the index n");
+        }
+        LabSeqJob job = jobService.submit(request.getN());
+        return Response.accepted(job)
+            .location(uriInfo.getAbsolutePathBuilder().path(job.getId()).build())
+            .build();
+    }
+
+
+    @GET
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Get job status",
+        description = "Returns the state of a job and the highest index its calculation has reached"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Job status",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = LabSeqJob.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "404",
+            description = "Unknown job"
+        )
+    })
+    public LabSeqJob status(
+        @Parameter(description = "Job identifier", required = true)
+        @PathParam("id") String id
+    ) {
+        return jobService.find(id).orElseThrow(NotFoundException::new);
+    }
+
+
+    @GET
+    @Path("/{id}/result")
+    @Produces(MediaType.TEXT_PLAIN)
+    @Operation(
+        summary = "Download job result",
+        description = "Downloads the decimal value calculated by a completed job"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "The decimal value",
+            content = @Content(mediaType = MediaType.TEXT_PLAIN)
+        ),
+        @APIResponse(
+            responseCode = "404",
+            description = "Unknown job"
+        ),
+        @APIResponse(
+            responseCode = "409",
+            description = "The job has not completed"
+        )
+    })
+    public Response result(
+        @Parameter(description = "Job identifier", required = true)
+        @PathParam("id") String id
+    ) {
+        LabSeqJob job = jobService.find(id).orElseThrow(NotFoundException::new);
+        return jobService.resultFile(id)
+            .map(file -> Response.ok(file.toFile())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"labseq-" + job.getN() + ".txt\"")
+                .build())
+            .orElseGet(() -> {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "Job Not Completed");
+                error.put("message", "Job " + id + " is " + job.getState());
+                error.put("status", 409);
+                return Response.status(Response.Status.CONFLICT)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(error)
+                    .build();
+            });
+    }
+
+
+    @DELETE
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Cancel a job",
+        description = "Stops a queued or running job; finished jobs are left unchanged"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Job status after the cancellation request",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = LabSeqJob.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "404",
+            description = "Unknown job"
+        )
+    })
+    public LabSeqJob cancel(
+        @Parameter(description = "Job identifier", required = true)
+        @PathParam("id") String id
+    ) {
+        return jobService.cancel(id).orElseThrow(NotFoundException::new);
+    }
+}
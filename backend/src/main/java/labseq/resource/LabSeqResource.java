@@ -1,16 +1,45 @@
 package labseq.resource;
 
+import labseq.model.LabSeqBatchRequest;
+import labseq.model.LabSeqRangeItem;
 import labseq.model.LabSeqResponse;
+import labseq.model.LabSeqResult;
+import labseq.model.ValueFormat;
+import labseq.service.AccessLog;
+import labseq.service.ComputeScheduler;
+import labseq.service.LabSeqMetrics;
 import labseq.service.LabSeqService;
+import labseq.service.RequestCoalescer;
+import labseq.service.cluster.ClusterRouter;
+import labseq.store.EncodedValue;
+import labseq.store.EncodedValueCache;
+import labseq.store.Frontier;
+import labseq.store.OffHeapValueStore;
+import labseq.store.ValueCache;
+import labseq.exception.ComputeSaturatedException;
 import labseq.exception.InvalidIndexException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.netty.buffer.ByteBuf;
+import io.smallrye.health.SmallRyeHealthReporter;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
@@ -18,8 +47,16 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 @Path("/labseq")
@@ -31,97 +68,461 @@ public class LabSeqResource {
     @Inject
     LabSeqService labSeqService;
 
+    @Inject
+    RequestCoalescer requestCoalescer;
+
+    @Inject
+    ComputeScheduler computeScheduler;
+
+    @Inject
+    ValueCache valueCache;
+
+    @Inject
+    AccessLog accessLog;
+
+    @Inject
+    SmallRyeHealthReporter healthReporter;
+
+    @Inject
+    ClusterRouter clusterRouter;
+
+    @Inject
+    EncodedValueCache encodedValueCache;
+
+    @Inject
+    LabSeqMetrics metrics;
+
+    @Inject
+    Frontier frontier;
+
+    // Os valores nunca mudam; o limite é o que os caches HTTP aceitam na prática (1 ano)
+    @ConfigProperty(name = "labseq.http.max-age", defaultValue = "365D")
+    Duration maxAge;
+
+    // Corpos JSON de valores a partir deste tamanho são serializados, comprimidos e guardados
+    @ConfigProperty(name = "labseq.cache.encoded-min-bytes", defaultValue = "8192")
+    int encodedMinBytes;
+
 
     @GET
     @Path("/{n}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     @Operation(
         summary = "Get LabSeq value",
         description = "Calculates and returns the value of the LabSeq sequence at the given index. " +
                      "Uses caching to improve performance for repeated calculations. " +
-                     "Formula: l(n) = l(n-4) + l(n-3) for n > 3"
+                     "Formula: l(n) = l(n-4) + l(n-3) for n > 3. " +
+                     "With Accept: application/octet-stream the value is returned as raw big-endian " +
+                     "two's-complement bytes, with the metadata in X-LabSeq-* headers. " +
+                     "In cluster mode, expensive indices owned by another node are served by that node " +
+                     "(see X-LabSeq-Served-By), or locally when it is unreachable. " +
+                     "Responses carry a strong ETag and are cacheable forever; a matching If-None-Match " +
+                     "gets 304 without computing anything. Large JSON bodies are sent gzip- or deflate-compressed " +
+                     "as negotiated through Accept-Encoding, around a stored encoding of the value on repeated requests."
     )
     @APIResponses(value = {
         @APIResponse(
             responseCode = "200",
             description = "Successfully calculated the LabSeq value",
-            content = @Content(
-                mediaType = MediaType.APPLICATION_JSON,
-                schema = @Schema(implementation = LabSeqResponse.class)
-            )
+            content = {
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON,
+                    schema = @Schema(implementation = LabSeqResponse.class)
+                ),
+                @Content(
+                    mediaType = MediaType.APPLICATION_OCTET_STREAM,
+                    schema = @Schema(type = SchemaType.STRING, format = "binary")
+                )
+            }
+        ),
+        @APIResponse(
+            responseCode = "304",
+            description = "The representation identified by If-None-Match is still current"
         ),
         @APIResponse(
             responseCode = "400",
-            description = "Invalid index provided (must be non-negative integer)"
+            description = "Invalid index provided (must be non-negative integer) or unknown format"
+        ),
+        @APIResponse(
+            responseCode = "503",
+            description = "All compute workers are busy; retry after the number of seconds in Retry-After"
         ),
         @APIResponse(
             responseCode = "500",
             description = "Internal server error"
         )
     })
-    public Response getLabSeq(
+    public Uni<Response> getLabSeq(
         @Parameter(
             description = "The index (n) in the LabSeq sequence. Must be a non-negative integer.",
             required = true,
             example = "10"
         )
-        @PathParam("n") int n
+        @PathParam("n") int n,
+        @Parameter(
+            description = "Encoding of the value in JSON responses: decimal, hex or base64",
+            example = "decimal"
+        )
+        @QueryParam("format") @DefaultValue("decimal") String format,
+        @Context HttpHeaders headers
     ) {
-        LOG.infof("Received request for LabSeq with n=%d", n);
+        ValueFormat valueFormat = ValueFormat.fromParameter(format);
+        boolean binary = acceptsBinary(headers);
+        labSeqService.validateIndex(n);
+        String representation = binary ? "binary" : valueFormat.parameter();
 
-        try {
-            long startTime = System.currentTimeMillis();
-            
-            // Delega o cálculo para o Service
-            BigInteger value = labSeqService.calculate(n);
-            
-            long endTime = System.currentTimeMillis();
-            long calculationTime = endTime - startTime;
+        // l(n) nunca muda: se o cliente já tem esta representação, não há nada a calcular
+        String current = HttpCaching.matchingETag(headers.getHeaderString(HttpHeaders.IF_NONE_MATCH), n, representation);
+        if (current != null) {
+            return Uni.createFrom().item(cacheable(Response.notModified(), current).build());
+        }
+
+        // Valores grandes guardados fora do heap seguem diretamente da memória nativa para a ligação
+        if (binary) {
+            long start = System.nanoTime();
+            ByteBuf lease = valueCache.getOffHeap().map(offHeap -> offHeap.lease(n)).orElse(null);
+            if (lease != null) {
+                return Uni.createFrom().item(offHeapBinary(n, lease, stored(n, representation, start)));
+            }
+        }
+
+        // Os dígitos comprimem bem; os bytes em bruto não
+        String coding = binary ? HttpCaching.IDENTITY : HttpCaching.negotiate(headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (!binary) {
+            long start = System.nanoTime();
+            EncodedValue stored = encodedValueCache.get(n, representation, !HttpCaching.IDENTITY.equals(coding));
+            if (stored != null) {
+                return Uni.createFrom().item(encoded(n, valueFormat, coding, stored, stored(n, representation, start)));
+            }
+        }
+
+        // Em modo cluster, índices caros de outro nó são pedidos ao dono; se falhar, calcula-se aqui
+        boolean forwarded = headers.getHeaderString(ClusterRouter.FORWARDED_HEADER) != null;
+        return clusterRouter.forwardTarget(n, forwarded)
+            .map(owner -> clusterRouter.forward(owner, n, valueFormat.parameter(),
+                    headers.getHeaderString(HttpHeaders.ACCEPT), headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING))
+                .onItem().ifNull().switchTo(() -> computeLocally(n, valueFormat, binary, coding)))
+            .orElseGet(() -> computeLocally(n, valueFormat, binary, coding));
+    }
 
-            // Determina se usou iterativo (para informação)
-            boolean usedIterative = labSeqService.shouldUseIterative(n);
+    private Uni<Response> computeLocally(int n, ValueFormat valueFormat, boolean binary, String coding) {
+        // Pedidos baratos e pequenos respondem já; os pesados ou grandes são calculados e convertidos no pool de cálculo
+        return computeScheduler.schedule(n, result -> {
+            accessLog.value(n, binary ? "binary" : valueFormat.parameter(), result);
+            if (binary) {
+                // Bytes em bruto: nenhuma conversão de base
+                Response.ResponseBuilder builder = Response.ok(result.getValue().toByteArray(), MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                    .header("X-LabSeq-N", n)
+                    .header("X-LabSeq-Bit-Length", result.getValue().bitLength())
+                    .header("X-LabSeq-Calculation-Time", result.getCalculationMillis())
+                    .header("X-LabSeq-From-Cache", result.isFromCache())
+                    .header("X-LabSeq-Strategy", result.getStrategy())
+                    .header("X-LabSeq-Source", result.getSource().parameter())
+                    .header("X-LabSeq-Additions", result.getAdditions());
+                return cacheable(builder, HttpCaching.etag(n, "binary", HttpCaching.IDENTITY)).build();
+            }
 
+            if (result.getValue().bitLength() / 8 >= encodedMinBytes) {
+                // Convertido e comprimido uma vez; os pedidos seguintes só escrevem os campos à volta do valor
+                boolean compressed = !HttpCaching.IDENTITY.equals(coding);
+                return encoded(n, valueFormat, coding, encodedValue(n, valueFormat, result.getValue(), compressed), result);
+            }
             // Cria response
-            LabSeqResponse response = new LabSeqResponse(
-                n,
-                value,
-                calculationTime,
-                calculationTime < 5 && !usedIterative // Heurística: cache hit
-            );
-
-            LOG.infof("LabSeq(%d) calculated in %dms (method: %s)", 
-                n, calculationTime, usedIterative ? "iterative" : "recursive+cache");
-
-            return Response.ok(response).build();
-
-        } catch (InvalidIndexException e) {
-            LOG.warnf("Invalid request: %s", e.getMessage());
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity("{\"error\":\"" + e.getMessage() + "\"}")
-                .build();
-        } catch (Exception e) {
-            LOG.errorf(e, "Error calculating LabSeq for n=%d", n);
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("{\"error\":\"Internal server error\"}")
-                .build();
+            LabSeqResponse response = new LabSeqResponse(n, result, valueFormat);
+            return cacheable(Response.ok(response), HttpCaching.etag(n, valueFormat.parameter(), HttpCaching.IDENTITY)).build();
+        })
+            // Índices inválidos e saturação seguem para os respetivos ExceptionMappers
+            .onFailure(e -> !(e instanceof InvalidIndexException || e instanceof ComputeSaturatedException))
+            .recoverWithItem(e -> {
+                LOG.errorf(e, "Error calculating LabSeq for n=%d", n);
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity("{\"error\":\"Internal server error\"}")
+                    .build();
+            });
+    }
+
+
+    private Response offHeapBinary(int n, ByteBuf lease, LabSeqResult result) {
+        Response.ResponseBuilder builder = Response.ok(new DirectBody(lease), MediaType.APPLICATION_OCTET_STREAM_TYPE)
+            .header("X-LabSeq-N", n)
+            .header("X-LabSeq-Bit-Length", OffHeapValueStore.bitLength(lease))
+            .header("X-LabSeq-Calculation-Time", result.getCalculationMillis())
+            .header("X-LabSeq-From-Cache", result.isFromCache())
+            .header("X-LabSeq-Strategy", result.getStrategy())
+            .header("X-LabSeq-Source", result.getSource().parameter())
+            .header("X-LabSeq-Additions", result.getAdditions());
+        return cacheable(builder, HttpCaching.etag(n, "binary", HttpCaching.IDENTITY)).build();
+    }
+
+    // O valor de um pedido que não passou pelo serviço, registado nas métricas e no registo de acessos como os outros
+    private LabSeqResult stored(int n, String representation, long start) {
+        LabSeqResult result = new LabSeqResult(null, LabSeqService.CACHE, LabSeqResult.Source.CACHE, 0, System.nanoTime() - start);
+        metrics.recordCalculation(result, n, result.getCalculationNanos());
+        accessLog.value(n, representation, result);
+        return result;
+    }
+
+    // Os caracteres do valor, guardados para os pedidos seguintes; a versão comprimida parte deles
+    private EncodedValue encodedValue(int n, ValueFormat valueFormat, BigInteger number, boolean compressed) {
+        String representation = valueFormat.parameter();
+        EncodedValue plain = compressed ? encodedValueCache.get(n, representation, false) : null;
+        if (plain == null) {
+            ByteArrayOutputStream chars = new ByteArrayOutputStream(number.bitLength() / 3 + 16);
+            try {
+                valueFormat.write(number, chars);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            plain = HttpCaching.encodeValue(chars.toByteArray(), number.bitLength(), false);
+            encodedValueCache.put(n, representation, plain);
+        }
+        if (!compressed) {
+            return plain;
         }
+        EncodedValue deflated = HttpCaching.encodeValue(plain.payload(), plain.bitLength(), true);
+        encodedValueCache.put(n, representation, deflated);
+        return deflated;
+    }
+
+    private Response encoded(int n, ValueFormat valueFormat, String coding, EncodedValue value, LabSeqResult result) {
+        // Só o valor vem guardado: os campos desta resposta são escritos (e comprimidos) de novo
+        LabSeqResponse response = new LabSeqResponse();
+        response.setN(n);
+        response.setFormat(valueFormat.parameter());
+        response.setBitLength(value.bitLength());
+        response.setDigits(valueFormat == ValueFormat.DECIMAL ? value.length() : null);
+        response.setCalculationTime(result.getCalculationMillis());
+        response.setCalculationNanos(result.getCalculationNanos());
+        response.setFromCache(result.isFromCache());
+        response.setStrategy(result.getStrategy());
+        response.setSource(result.getSource().parameter());
+        response.setAdditions(result.getAdditions());
+        EncodedBody body = HttpCaching.body(LabSeqResponseWriter.valueHead(response), value, LabSeqResponseWriter.VALUE_TAIL, coding);
+
+        Response.ResponseBuilder builder = Response.ok(body, MediaType.APPLICATION_JSON_TYPE);
+        if (!HttpCaching.IDENTITY.equals(coding)) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, coding);
+        }
+        return cacheable(builder, HttpCaching.etag(n, valueFormat.parameter(), coding)).build();
+    }
+
+    private Response.ResponseBuilder cacheable(Response.ResponseBuilder builder, String etag) {
+        return builder
+            .header(HttpHeaders.ETAG, etag)
+            .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge.toSeconds() + ", immutable")
+            .header(HttpHeaders.VARY, HttpCaching.VARY);
+    }
+
+
+    // O primeiro tipo aceite (por ordem de qualidade) que sabemos produzir decide; */* fica em JSON
+    private static boolean acceptsBinary(HttpHeaders headers) {
+        for (MediaType type : headers.getAcceptableMediaTypes()) {
+            if (MediaType.APPLICATION_OCTET_STREAM_TYPE.equals(type)) {
+                return true;
+            }
+            if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                return false;
+            }
+        }
+        return false;
     }
 
 
     @GET
-    @Path("/health")
+    @Path("/range")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Stream a range of LabSeq values",
+        description = "Streams l(from), l(from + step), ... up to l(to) as newline-delimited JSON. " +
+                     "The recurrence is walked once and each value is written as soon as it is computed; " +
+                     "the next value is only computed when the client has consumed the previous one."
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Stream of LabSeq values",
+            content = @Content(
+                mediaType = RestMediaType.APPLICATION_NDJSON,
+                schema = @Schema(implementation = LabSeqRangeItem.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Invalid range (negative start, end before start, non-positive step or end above the limit)"
+        )
+    })
+    public Multi<LabSeqRangeItem> getRange(
+        @Parameter(description = "First index of the range", required = true, example = "0")
+        @QueryParam("from") int from,
+        @Parameter(description = "Last index of the range (inclusive)", required = true, example = "100")
+        @QueryParam("to") int to,
+        @Parameter(description = "Distance between consecutive indices", example = "1")
+        @QueryParam("step") @DefaultValue("1") int step
+    ) {
+        // Valida já, para que um pedido inválido dê 400 em vez de um stream vazio
+        Iterable<LabSeqRangeItem> range = labSeqService.range(from, to, step);
+        accessLog.range(from, to, step);
+
+        // O iterador só avança a pedido do subscritor, por isso um cliente lento trava o cálculo
+        return Multi.createFrom().iterable(range)
+            .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Calculate a set of LabSeq values",
+        description = "Streams l(n) for each requested index, in request order, as newline-delimited JSON. " +
+                     "The distinct indices are computed in a single ascending pass, so scattered indices share " +
+                     "one walk instead of each starting from scratch. The number of indices, the estimated " +
+                     "computation time and the total size of the values are limited."
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Stream of LabSeq values in request order",
+            content = @Content(
+                mediaType = RestMediaType.APPLICATION_NDJSON,
+                schema = @Schema(implementation = LabSeqRangeItem.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Empty batch, or a negative or null index"
+        ),
+        @APIResponse(
+            responseCode = "413",
+            description = "Batch above the limits on the number of indices, the estimated computation time or the total size of the values"
+        ),
+        @APIResponse(
+            responseCode = "503",
+            description = "All compute workers are busy; retry after the number of seconds in Retry-After"
+        )
+    })
+    public Multi<LabSeqRangeItem> batch(LabSeqBatchRequest request) {
+        // Valida já, para que um lote inválido dê 400 ou 413 em vez de um stream vazio
+        Iterable<LabSeqRangeItem> items = labSeqService.batch(request != null ? request.getIndices() : null);
+        accessLog.batch(request.getIndices());
+
+        // Cada pedido de elementos do subscritor é uma tarefa do pool de cálculo, sujeita ao limite da fila
+        return Multi.createFrom().iterable(items)
+            .runSubscriptionOn(computeScheduler.executor());
+    }
+
+
+    @GET
+    @Path("/stats")
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(
-        summary = "Health check",
-        description = "Simple health check endpoint to verify the service is running"
+        summary = "Calculation statistics",
+        description = "Counters for computations started, requests served by sharing an in-flight computation, " +
+                     "the state of the compute pool, the value cache, the stored encoded values and the shared frontier, " +
+                     "and in cluster mode the forwarding counters"
     )
     @APIResponse(
         responseCode = "200",
-        description = "Service is healthy"
+        description = "Current statistics"
     )
+    public Map<String, Object> stats() {
+        Map<String, Object> coalescing = new LinkedHashMap<>();
+        coalescing.put("computations", requestCoalescer.getComputations());
+        coalescing.put("identical", requestCoalescer.getCoalescedIdentical());
+        coalescing.put("attached", requestCoalescer.getCoalescedAttached());
+
+        Map<String, Object> compute = new LinkedHashMap<>();
+        compute.put("poolSize", computeScheduler.getPoolSize());
+        compute.put("active", computeScheduler.getActiveCount());
+        compute.put("queued", computeScheduler.getQueueDepth());
+        compute.put("queueCapacity", computeScheduler.getQueueCapacity());
+        compute.put("inline", computeScheduler.getInlineCount());
+        compute.put("offloaded", computeScheduler.getOffloadedCount());
+        compute.put("rejected", computeScheduler.getRejectedCount());
+
+        CacheStats cacheStats = valueCache.getStats();
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("entries", valueCache.getEntryCount());
+        cache.put("weightedBytes", valueCache.getWeightedBytes());
+        cache.put("maxBytes", valueCache.getMaxBytes());
+        cache.put("hits", cacheStats.hitCount());
+        cache.put("misses", cacheStats.missCount());
+        cache.put("evictions", cacheStats.evictionCount());
+        cache.put("evictedBytes", cacheStats.evictionWeight());
+
+        CacheStats encodedStats = encodedValueCache.getStats();
+        Map<String, Object> encoded = new LinkedHashMap<>();
+        encoded.put("entries", encodedValueCache.getEntryCount());
+        encoded.put("weightedBytes", encodedValueCache.getWeightedBytes());
+        encoded.put("maxBytes", encodedValueCache.getMaxBytes());
+        encoded.put("hits", encodedStats.hitCount());
+        encoded.put("misses", encodedStats.missCount());
+        encoded.put("evictions", encodedStats.evictionCount());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("coalescing", coalescing);
+        stats.put("compute", compute);
+        stats.put("cache", cache);
+        valueCache.getOffHeap().ifPresent(offHeap -> {
+            CacheStats offHeapStats = offHeap.getStats();
+            Map<String, Object> offHeapCache = new LinkedHashMap<>();
+            offHeapCache.put("entries", offHeap.getEntryCount());
+            offHeapCache.put("usedBytes", offHeap.getUsedBytes());
+            offHeapCache.put("maxBytes", offHeap.getMaxBytes());
+            offHeapCache.put("hits", offHeapStats.hitCount());
+            offHeapCache.put("misses", offHeapStats.missCount());
+            offHeapCache.put("evictions", offHeapStats.evictionCount());
+            stats.put("offHeap", offHeapCache);
+        });
+        stats.put("encodedValues", encoded);
+
+        Map<String, Object> frontierStats = new LinkedHashMap<>();
+        frontierStats.put("index", frontier.getLastIndex());
+        frontierStats.put("maxIndex", frontier.getMaxIndex());
+        frontierStats.put("advances", frontier.getAdvances());
+        stats.put("frontier", frontierStats);
+        if (clusterRouter.isEnabled()) {
+            Map<String, Object> cluster = new LinkedHashMap<>();
+            cluster.put("nodes", clusterRouter.getNodes());
+            cluster.put("forwarded", clusterRouter.getForwarded());
+            cluster.put("received", clusterRouter.getReceived());
+            cluster.put("fallbacks", clusterRouter.getFallbacks());
+            stats.put("cluster", cluster);
+        }
+        return stats;
+    }
+
+
+    @GET
+    @Path("/health")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Health check",
+        description = "Liveness of the service plus whether it is ready for traffic. " +
+                     "The detailed checks are at /q/health/live and /q/health/ready."
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Service is alive; see ready for whether it has capacity"
+        ),
+        @APIResponse(
+            responseCode = "503",
+            description = "Service is not alive"
+        )
+    })
     public Response health() {
-        return Response.ok()
-            .entity("{\"status\":\"UP\",\"service\":\"LabSeq API\"}")
+        boolean live = !healthReporter.getLiveness().isDown();
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", live ? "UP" : "DOWN");
+        health.put("ready", !healthReporter.getReadiness().isDown());
+        health.put("service", "LabSeq API");
+        return Response.status(live ? Response.Status.OK : Response.Status.SERVICE_UNAVAILABLE)
+            .entity(health)
             .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package labseq.resource;
+
+import labseq.model.LabSeqResponse;
+import labseq.model.LabSeqResult;
+import labseq.model.ValueFormat;
+import labseq.service.engine.LongTable;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link LabSeqResponse} as JSON with the value streamed chunk by chunk in its format,
+ * instead of letting Jackson copy a String holding millions of digits into the response.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class LabSeqResponseWriter implements MessageBodyWriter<LabSeqResponse> {
+
+    // Corpo completo de cada resposta servida pela tabela de longs, escrito uma vez pelo caminho normal
+    private static final byte[][] LONG_TABLE_BODIES = new byte[LongTable.MAX_INDEX + 1][];
+
+    // Fecha a string do valor e o objeto
+    static final byte[] VALUE_TAIL = {'"', '}'};
+
+    static {
+        for (int n = 0; n <= LongTable.MAX_INDEX; n++) {
+            LabSeqResponse response = new LabSeqResponse(n, LongTable.bigValue(n), 0, true);
+            response.setStrategy(LongTable.NAME);
+            response.setSource(LabSeqResult.Source.LONG_TABLE.parameter());
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try {
+                writeJson(response, body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            LONG_TABLE_BODIES[n] = body.toByteArray();
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return LabSeqResponse.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(LabSeqResponse response, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream out)
+            throws IOException {
+        if (response.isLongTable()) {
+            out.write(LONG_TABLE_BODIES[response.getN()]);
+            return;
+        }
+        writeJson(response, out);
+    }
+
+    /**
+     * Everything {@link #writeTo} writes before the characters of the value, for a response
+     * whose value is written in its format; {@link #VALUE_TAIL} follows them.
+     */
+    static byte[] valueHead(LabSeqResponse response) {
+        return head(response).append('"').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeJson(LabSeqResponse response, OutputStream out) throws IOException {
+        StringBuilder head = head(response);
+        BigInteger number = response.getNumber();
+        if (number == null) {
+            if (response.getValue() == null) {
+                head.append("null");
+            } else {
+                appendString(head, response.getValue());
+            }
+            out.write(head.append('}').toString().getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.write(head.append('"').toString().getBytes(StandardCharsets.UTF_8));
+        response.getValueFormat().write(number, out);
+        out.write(VALUE_TAIL);
+    }
+
+    private static StringBuilder head(LabSeqResponse response) {
+        // O valor vai no fim, para que o cliente possa ler os restantes campos antes dos dígitos
+        StringBuilder head = new StringBuilder(160)
+            .append("{\"n\":").append(response.getN())
+            .append(",\"calculationTime\":").append(response.getCalculationTime())
+            .append(",\"calculationNanos\":").append(response.getCalculationNanos())
+            .append(",\"fromCache\":").append(response.isFromCache())
+            .append(",\"bitLength\":").append(response.getBitLength())
+            .append(",\"format\":\"").append(response.getValueFormat().parameter()).append('"');
+        if (response.getDigits() != null) {
+            head.append(",\"digits\":").append(response.getDigits());
+        }
+        if (response.getStrategy() != null) {
+            head.append(",\"strategy\":");
+            appendString(head, response.getStrategy());
+        }
+        if (response.getSource() != null) {
+            head.append(",\"source\":");
+            appendString(head, response.getSource());
+        }
+        head.append(",\"additions\":").append(response.getAdditions());
+        return head.append(",\"value\":");
+    }
+
+    private static void appendString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,31 @@
+package labseq.resource;
+
+import labseq.service.CacheWarmup;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Keeps the pod out of the load balancer (/q/health/ready) until the cache warm-up has finished.
+ */
+@Readiness
+@ApplicationScoped
+public class WarmupReadinessCheck implements HealthCheck {
+
+    @Inject
+    CacheWarmup cacheWarmup;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder response = HealthCheckResponse.named("labseq-warmup")
+            .status(cacheWarmup.isDone())
+            .withData("loaded", cacheWarmup.getLoaded())
+            .withData("computed", cacheWarmup.getComputed())
+            .withData("cached", cacheWarmup.getCached());
+        cacheWarmup.getError().ifPresent(error -> response.withData("error", error));
+        return response.build();
+    }
+}
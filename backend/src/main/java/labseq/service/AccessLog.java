@@ -0,0 +1,205 @@
+package labseq.service;
+
+import labseq.model.LabSeqResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous, batched access log for the calculation endpoints (logger category {@code labseq.access}).
+ *
+ * Request threads only sample and enqueue a small record; formatting and the write to the log
+ * happen on a single daemon thread, which drains the queue every {@code flush-interval} and
+ * emits each batch as one multi-line log event. When the queue is full records are dropped and
+ * counted rather than blocking the request. Enabled flag and sample rate can be changed at
+ * runtime through {@code /labseq/admin/access-log}.
+ */
+@ApplicationScoped
+public class AccessLog {
+
+    private static final Logger LOG = Logger.getLogger("labseq.access");
+
+    @ConfigProperty(name = "labseq.access-log.enabled", defaultValue = "true")
+    boolean initiallyEnabled;
+
+    @ConfigProperty(name = "labseq.access-log.sample-rate", defaultValue = "1.0")
+    double initialSampleRate;
+
+    @ConfigProperty(name = "labseq.access-log.queue-capacity", defaultValue = "8192")
+    int queueCapacity;
+
+    @ConfigProperty(name = "labseq.access-log.batch-size", defaultValue = "256")
+    int batchSize;
+
+    @ConfigProperty(name = "labseq.access-log.flush-interval", defaultValue = "1S")
+    Duration flushInterval;
+
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+
+    private BlockingQueue<Entry> queue;
+    private Thread writer;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        enabled = initiallyEnabled;
+        sampleRate = checkSampleRate(initialSampleRate);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writer = new Thread(this::drainLoop, "labseq-access-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.interrupt();
+        try {
+            writer.join(flushInterval.toMillis() + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records a served value; cheap enough for the request thread.
+     */
+    public void value(int n, String format, LabSeqResult result) {
+        if (sampled()) {
+            offer(new Entry(System.currentTimeMillis(), "value", n, n, 1, format, result.getStrategy(),
+                result.getSource().parameter(), result.getAdditions(), result.getCalculationNanos()));
+        }
+    }
+
+    public void range(int from, int to, int step) {
+        if (sampled()) {
+            offer(new Entry(System.currentTimeMillis(), "range", from, to, step, "decimal", null, null, 0, 0));
+        }
+    }
+
+    public void batch(List<Integer> indices) {
+        if (sampled()) {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int n : indices) {
+                min = Math.min(min, n);
+                max = Math.max(max, n);
+            }
+            offer(new Entry(System.currentTimeMillis(), "batch", min, max, indices.size(), "decimal", null, null, 0, 0));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = checkSampleRate(sampleRate);
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private boolean sampled() {
+        if (!enabled) {
+            return false;
+        }
+        double rate = sampleRate;
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void offer(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                Thread.sleep(flushInterval.toMillis());
+            } catch (InterruptedException e) {
+                // Escreve o que ainda estiver na fila antes de terminar
+                running = false;
+            }
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        StringBuilder lines = new StringBuilder(batch.size() * 160);
+        for (Entry entry : batch) {
+            if (lines.length() > 0) {
+                lines.append('\n');
+            }
+            entry.appendTo(lines);
+        }
+        LOG.info(lines);
+        written.add(batch.size());
+    }
+
+    private static double checkSampleRate(double rate) {
+        if (rate < 0 || rate > 1 || Double.isNaN(rate)) {
+            throw new IllegalArgumentException("Access log sample rate must be between 0 and 1: " + rate);
+        }
+        return rate;
+    }
+
+    // Campos chave=valor; nos lotes, step guarda o número de índices, fáceis de filtrar e de ler por um agregador de logs
+    private record Entry(long timestamp, String kind, int from, int to, int step, String format,
+                         String strategy, String source, long additions, long nanos) {
+
+        void appendTo(StringBuilder line) {
+            line.append("ts=").append(Instant.ofEpochMilli(timestamp))
+                .append(" kind=").append(kind);
+            if (strategy != null) {
+                line.append(" n=").append(from);
+            } else {
+                line.append(" from=").append(from).append(" to=").append(to)
+                    .append("batch".equals(kind) ? " count=" : " step=").append(step);
+            }
+            line.append(" format=").append(format);
+            if (strategy != null) {
+                line.append(" strategy=").append(strategy)
+                    .append(" source=").append(source)
+                    .append(" additions=").append(additions)
+                    .append(" nanos=").append(nanos);
+            }
+        }
+    }
+}
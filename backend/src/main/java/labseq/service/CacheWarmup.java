@@ -0,0 +1,200 @@
+package labseq.service;
+
+import labseq.service.engine.SequenceWalker;
+import labseq.store.CacheSnapshot;
+import labseq.store.ValueCache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills the value cache after startup, before the pod reports itself ready.
+ *
+ * Loads the snapshot left by the previous shutdown ({@code labseq.warmup.snapshot-path}) and
+ * precomputes {@code labseq.warmup.from} .. {@code to} (every {@code step}-th index), both at once
+ * on a temporary pool: the range is cut into chunks that are walked independently, each from
+ * its own seed window. Precomputed values enter the cache under the same
+ * {@code labseq.cache.min-recompute-cost} admission as requests. On shutdown the hottest {@code snapshot-entries} cache entries are
+ * written back to the snapshot file.
+ */
+@ApplicationScoped
+public class CacheWarmup {
+
+    private static final Logger LOG = Logger.getLogger(CacheWarmup.class);
+
+    @Inject
+    LabSeqService labSeqService;
+
+    @Inject
+    ValueCache valueCache;
+
+    @ConfigProperty(name = "labseq.warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "labseq.warmup.snapshot-path")
+    Optional<String> snapshotPath;
+
+    @ConfigProperty(name = "labseq.warmup.snapshot-entries", defaultValue = "1000")
+    int snapshotEntries;
+
+    @ConfigProperty(name = "labseq.warmup.from")
+    Optional<Integer> from;
+
+    @ConfigProperty(name = "labseq.warmup.to")
+    Optional<Integer> to;
+
+    @ConfigProperty(name = "labseq.warmup.step", defaultValue = "1")
+    int step;
+
+    // Índices por tarefa; cada tarefa começa pela sua própria janela inicial
+    @ConfigProperty(name = "labseq.warmup.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    @ConfigProperty(name = "labseq.warmup.threads")
+    Optional<Integer> threads;
+
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder cached = new LongAdder();
+    private volatile boolean done;
+    private volatile String error;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            done = true;
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "labseq-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        Optional<Path> file = snapshotFile();
+        if (file.isEmpty()) {
+            return;
+        }
+        Map<Integer, BigInteger> hottest = valueCache.hottest(snapshotEntries);
+        if (hottest.isEmpty()) {
+            return;
+        }
+        try {
+            CacheSnapshot.write(file.get(), hottest);
+            LOG.infof("Saved %d cache entries to %s", hottest.size(), file.get());
+        } catch (IOException e) {
+            LOG.warnf(e, "Unable to save cache snapshot to %s", file.get());
+        }
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public long getLoaded() {
+        return loaded.sum();
+    }
+
+    public long getComputed() {
+        return computed.sum();
+    }
+
+    public long getCached() {
+        return cached.sum();
+    }
+
+    public Optional<String> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(
+            threads.orElse(Runtime.getRuntime().availableProcessors()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "labseq-warmup-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            snapshotFile().filter(Files::exists).ifPresent(file -> tasks.add(pool.submit(() -> loadSnapshot(file))));
+            if (from.isPresent() && to.isPresent()) {
+                submitRange(pool, tasks, from.get(), to.get());
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            LOG.infof("Warm-up finished in %dms: %d entries loaded, %d computed, %d of them cached",
+                (System.nanoTime() - start) / 1_000_000, loaded.sum(), computed.sum(), cached.sum());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted";
+        } catch (ExecutionException | RuntimeException e) {
+            // Sem aquecimento o serviço continua correto, só mais lento nos primeiros pedidos
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            LOG.warnf(cause, "Warm-up failed, continuing with a partially filled cache");
+            error = String.valueOf(cause.getMessage());
+        } finally {
+            pool.shutdownNow();
+            done = true;
+        }
+    }
+
+    private void submitRange(ExecutorService pool, List<Future<?>> tasks, int first, int last) {
+        if (first < 0 || last < first || step < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid warm-up range " + first + ".." + last + " step " + step);
+        }
+        long span = (long) step * chunkSize;
+        for (long chunkStart = first; chunkStart <= last; chunkStart += span) {
+            int a = (int) chunkStart;
+            int b = (int) Math.min(last, chunkStart + span - step);
+            tasks.add(pool.submit(() -> computeRange(a, b)));
+        }
+    }
+
+    private void computeRange(int first, int last) {
+        SequenceWalker walker = new SequenceWalker(labSeqService.seedWindow(first));
+        for (long n = first; n <= last; n += step) {
+            BigInteger value = walker.advanceTo((int) n);
+            // Mesma admissão que os pedidos: valores baratos de recalcular não ocupam o cache
+            if (labSeqService.cacheIfCostly((int) n, value)) {
+                cached.increment();
+            }
+            computed.increment();
+        }
+    }
+
+    private void loadSnapshot(Path file) {
+        try {
+            Map<Integer, BigInteger> entries = CacheSnapshot.read(file);
+            entries.forEach(valueCache::put);
+            loaded.add(entries.size());
+        } catch (IOException e) {
+            LOG.warnf(e, "Ignoring unreadable cache snapshot %s", file);
+        }
+    }
+
+    private Optional<Path> snapshotFile() {
+        return snapshotPath.filter(path -> !path.isBlank()).map(Path::of);
+    }
+}
@@ -0,0 +1,177 @@
+package labseq.service;
+
+import labseq.exception.ComputeSaturatedException;
+import labseq.model.LabSeqResult;
+import labseq.service.strategy.CostModel;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decides where a calculation runs.
+ *
+ * Requests whose estimated cost is below {@code labseq.compute.inline-threshold} and whose value
+ * is smaller than {@code labseq.compute.inline-max-bytes} are answered directly on the calling
+ * (I/O) thread. Everything else, including large values that are already cached, goes to a fixed pool sized to the
+ * available cores behind a bounded queue; when the queue is full the request is rejected with
+ * a {@link ComputeSaturatedException} instead of waiting, so latency cannot grow without limit.
+ */
+@ApplicationScoped
+public class ComputeScheduler {
+
+    @Inject
+    LabSeqService labSeqService;
+
+    @Inject
+    LabSeqMetrics metrics;
+
+    @ConfigProperty(name = "labseq.compute.pool-size")
+    Optional<Integer> poolSize;
+
+    @ConfigProperty(name = "labseq.compute.queue-capacity", defaultValue = "64")
+    int queueCapacity;
+
+    // Custo estimado (ns) abaixo do qual não compensa mudar de thread
+    @ConfigProperty(name = "labseq.compute.inline-threshold", defaultValue = "1000000")
+    long inlineThresholdNanos;
+
+    // Valores maiores do que isto são convertidos, serializados e comprimidos fora da thread de I/O
+    @ConfigProperty(name = "labseq.compute.inline-max-bytes", defaultValue = "8192")
+    long inlineMaxBytes;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder inline = new LongAdder();
+    private final LongAdder offloaded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Média móvel da duração das tarefas, usada para sugerir o Retry-After
+    private volatile double averageTaskNanos = 50_000_000;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize.orElse(Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "labseq-compute-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Computes l(n) and turns it into a response with render, both on the same thread. A cached
+     * value costs nothing to find but can still take long to render, so the size of the value
+     * counts as much as the cost of computing it.
+     */
+    public <T> Uni<T> schedule(int n, Function<LabSeqResult, T> render) {
+        return Uni.createFrom().deferred(() -> {
+            if (runsInline(n)) {
+                inline.increment();
+                return Uni.createFrom().item(render.apply(labSeqService.compute(n)));
+            }
+            return Uni.createFrom().completionStage(submit(() -> render.apply(labSeqService.compute(n))));
+        });
+    }
+
+    boolean runsInline(int n) {
+        // O tamanho de l(n) é conhecido antes de o calcular
+        return n * CostModel.BITS_PER_INDEX / 8 < inlineMaxBytes && labSeqService.estimateCost(n) <= inlineThresholdNanos;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    metrics.recordQueueWait(start - queued);
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    averageTaskNanos = 0.9 * averageTaskNanos + 0.1 * (System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ComputeSaturatedException("All compute workers are busy, try again later", retryAfterSeconds());
+        }
+        offloaded.increment();
+        return future;
+    }
+
+    /**
+     * The compute pool as an Executor for streams: each task goes through {@link #submit}, so it
+     * shares the queue bound, and a full queue throws a {@link ComputeSaturatedException}.
+     */
+    public Executor executor() {
+        return task -> submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public boolean isRunning() {
+        return !executor.isShutdown();
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getInlineCount() {
+        return inline.sum();
+    }
+
+    public long getOffloadedCount() {
+        return offloaded.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private long retryAfterSeconds() {
+        // Tempo aproximado até a fila atual esvaziar
+        double drainNanos = (getQueueDepth() + getActiveCount()) * averageTaskNanos / getPoolSize();
+        long seconds = (long) Math.ceil(drainNanos / 1_000_000_000d);
+        return Math.max(1, Math.min(60, seconds));
+    }
+}
@@ -0,0 +1,133 @@
+package labseq.service;
+
+import labseq.service.engine.SequenceWalker;
+import labseq.store.CheckpointStore;
+import labseq.store.Frontier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Runs linear walks of the recurrence and keeps track of the ones in progress, so a request
+ * for an index that a running walk is about to pass can wait for it instead of starting its own.
+ */
+@ApplicationScoped
+public class InFlightWalks {
+
+    @Inject
+    CheckpointStore checkpointStore;
+
+    @Inject
+    Frontier frontier;
+
+    private final Set<Walk> walks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Advances the walker to the target, recording checkpoints and handing values to
+     * attached requests on the way, and publishes where it stopped as the new frontier.
+     */
+    public BigInteger walk(SequenceWalker walker, int target) {
+        if (walker.index() >= target) {
+            return walker.valueAt(target);
+        }
+        Walk walk = new Walk(walker.index(), target);
+        walks.add(walk);
+        try {
+            while (walker.index() < target) {
+                walker.advance();
+                int index = walker.index();
+                walk.position = index;
+                if (checkpointStore.isCheckpoint(index)) {
+                    checkpointStore.record(walker.window());
+                }
+                // Caminhadas para além do limite deixam a fronteira no último índice permitido
+                if (index == frontier.getMaxIndex()) {
+                    frontier.offer(walker.window());
+                }
+                if (!walk.waiters.isEmpty()) {
+                    walk.release(walker);
+                }
+            }
+            frontier.offer(walker.window());
+            return walker.valueAt(target);
+        } finally {
+            walks.remove(walk);
+            walk.finish(walker);
+        }
+    }
+
+    /**
+     * Highest position among running walks that will still pass n, or -1 if none will.
+     */
+    public int bestPosition(int n) {
+        Walk best = bestWalk(n);
+        return best != null ? best.position : -1;
+    }
+
+    /**
+     * Waits on the running walk closest to n. The future completes with l(n), or with null if
+     * the walk passed n before the request was registered; the caller then computes it itself.
+     * Returns null when no running walk will pass n.
+     */
+    public CompletableFuture<BigInteger> attach(int n) {
+        Walk walk = bestWalk(n);
+        if (walk == null) {
+            return null;
+        }
+        CompletableFuture<BigInteger> future = walk.waiters.computeIfAbsent(n, key -> new CompletableFuture<>());
+        // O passeio pode ter terminado entre a escolha e o registo; nesse caso ninguém o completaria
+        if (walk.done) {
+            walk.waiters.remove(n, future);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private Walk bestWalk(int n) {
+        Walk best = null;
+        for (Walk walk : walks) {
+            int position = walk.position;
+            if (position < n && walk.target >= n && (best == null || position > best.position)) {
+                best = walk;
+            }
+        }
+        return best;
+    }
+
+    private static final class Walk {
+
+        private final int target;
+        private final ConcurrentNavigableMap<Integer, CompletableFuture<BigInteger>> waiters = new ConcurrentSkipListMap<>();
+        private volatile int position;
+        private volatile boolean done;
+
+        Walk(int position, int target) {
+            this.position = position;
+            this.target = target;
+        }
+
+        void release(SequenceWalker walker) {
+            Map.Entry<Integer, CompletableFuture<BigInteger>> waiter;
+            while ((waiter = waiters.firstEntry()) != null && waiter.getKey() <= walker.index()) {
+                waiters.remove(waiter.getKey(), waiter.getValue());
+                int n = waiter.getKey();
+                // Quem se registou tarde de mais já não está na janela e terá de calcular sozinho
+                waiter.getValue().complete(n >= walker.index() - 3 ? walker.valueAt(n) : null);
+            }
+        }
+
+        void finish(SequenceWalker walker) {
+            done = true;
+            release(walker);
+            waiters.values().forEach(future -> future.complete(null));
+            waiters.clear();
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package labseq.service;
+
+import labseq.exception.ComputeSaturatedException;
+import labseq.model.LabSeqJob;
+import labseq.service.engine.DecimalWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running LabSeq calculations that outlive a single HTTP request.
+ *
+ * Each job is stored in {@code labseq.jobs.dir} as {@code <id>.json} (status), {@code <id>.state}
+ * (the last saved x^prefix of the exponentiation) and, once finished, {@code <id>.txt} (the value).
+ * Jobs interrupted by a shutdown or crash are resubmitted on startup and continue from their
+ * saved state instead of from scratch, within the same {@code labseq.jobs.max-jobs} limit as
+ * new submissions.
+ */
+@ApplicationScoped
+public class LabSeqJobService {
+
+    private static final Logger LOG = Logger.getLogger(LabSeqJobService.class);
+
+    @Inject
+    LabSeqService labSeqService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "labseq.jobs.dir", defaultValue = "data/jobs")
+    String directoryPath;
+
+    @ConfigProperty(name = "labseq.jobs.max-concurrent", defaultValue = "1")
+    int maxConcurrent;
+
+    // Inclui trabalhos terminados, que ficam disponíveis para download até serem substituídos
+    @ConfigProperty(name = "labseq.jobs.max-jobs", defaultValue = "100")
+    int maxJobs;
+
+    @ConfigProperty(name = "labseq.jobs.persist-interval", defaultValue = "30S")
+    Duration persistInterval;
+
+    private final Map<String, LabSeqJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> cancelRequests = new ConcurrentHashMap<>();
+
+    private Path directory;
+    private ExecutorService executor;
+    private volatile boolean shuttingDown;
+
+    @PostConstruct
+    void init() {
+        directory = Path.of(directoryPath);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create job directory " + directory, e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "labseq-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        restore();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Os trabalhos interrompidos ficam como estão em disco e são retomados no arranque
+        shuttingDown = true;
+        executor.shutdownNow();
+    }
+
+    public LabSeqJob submit(int n) {
+        labSeqService.validateIndex(n);
+
+        LabSeqJob job = new LabSeqJob(UUID.randomUUID().toString(), n);
+        synchronized (jobs) {
+            if (jobs.size() >= maxJobs && !evictOldestFinished()) {
+                throw new ComputeSaturatedException("Too many jobs in progress (limit " + maxJobs + ")", 60);
+            }
+            jobs.put(job.getId(), job);
+        }
+        saveStatus(job);
+        executor.execute(() -> run(job, 0, null));
+
+        LOG.infof("Submitted job %s for n=%d", job.getId(), n);
+        return job;
+    }
+
+    public Optional<LabSeqJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Optional<LabSeqJob> cancel(String id) {
+        LabSeqJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        // Um trabalho ainda na fila é cancelado já; um em curso para no próximo passo
+        if (job.transition(LabSeqJob.State.QUEUED, LabSeqJob.State.CANCELLED)) {
+            finish(job, LabSeqJob.State.CANCELLED, null);
+        } else if (!job.getState().isFinished()) {
+            cancelRequests.put(id, Boolean.TRUE);
+            // Pode ter terminado entre a verificação e o pedido; ninguém o retiraria
+            if (job.getState().isFinished()) {
+                cancelRequests.remove(id);
+            }
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * File holding the decimal value of a completed job, or empty if the job has not completed.
+     */
+    public Optional<Path> resultFile(String id) {
+        LabSeqJob job = jobs.get(id);
+        if (job == null || job.getState() != LabSeqJob.State.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(file(id, ".txt"));
+    }
+
+    private void run(LabSeqJob job, int prefix, BigInteger[] prefixPower) {
+        // Atómico com o cancel: um trabalho cancelado na fila nunca chega a correr
+        if (!job.transition(LabSeqJob.State.QUEUED, LabSeqJob.State.RUNNING)) {
+            return;
+        }
+        saveStatus(job);
+
+        long[] lastSave = {System.nanoTime()};
+        try {
+            BigInteger value = labSeqService.calculateResumable(job.getN(), prefix, prefixPower, (index, power) -> {
+                if (cancelRequests.containsKey(job.getId()) || job.getState() == LabSeqJob.State.CANCELLED
+                        || Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+                job.setProgressIndex(index);
+                if (System.nanoTime() - lastSave[0] >= persistInterval.toNanos()) {
+                    saveState(job, index, power);
+                    lastSave[0] = System.nanoTime();
+                }
+            });
+
+            writeResult(job, value);
+            job.setProgressIndex(job.getN());
+            finish(job, LabSeqJob.State.COMPLETED, null);
+            LOG.infof("Job %s completed (n=%d, %d digits)", job.getId(), job.getN(), job.getDigits());
+        } catch (CancellationException e) {
+            if (!shuttingDown) {
+                finish(job, LabSeqJob.State.CANCELLED, null);
+            }
+        } catch (RuntimeException | IOException e) {
+            LOG.errorf(e, "Job %s failed", job.getId());
+            finish(job, LabSeqJob.State.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(LabSeqJob job, LabSeqJob.State state, String error) {
+        job.setState(state);
+        job.setError(error);
+        job.setFinishedAt(Instant.now());
+        cancelRequests.remove(job.getId());
+        deleteQuietly(file(job.getId(), ".state"));
+        saveStatus(job);
+    }
+
+    private void restore() {
+        List<LabSeqJob> stored = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                stored.add(objectMapper.readValue(file.toFile(), LabSeqJob.class));
+            }
+        } catch (IOException e) {
+            LOG.warnf(e, "Unable to restore jobs from %s", directory);
+        }
+
+        // Mesmo limite que o submit: primeiro os por terminar, depois os terminados do mais antigo
+        // para o mais recente, para que a remoção dos terminados deixe os mais recentes
+        stored.sort(Comparator.comparing((LabSeqJob job) -> job.getState().isFinished())
+            .thenComparing(job -> job.getState().isFinished() ? job.getFinishedAt() : job.getCreatedAt(),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (LabSeqJob job : stored) {
+            synchronized (jobs) {
+                if (jobs.size() >= maxJobs && !evictOldestFinished()) {
+                    LOG.warnf("Discarding job %s for n=%d: more than %d jobs stored", job.getId(), job.getN(), maxJobs);
+                    deleteFiles(job.getId());
+                    continue;
+                }
+                jobs.put(job.getId(), job);
+            }
+            if (!job.getState().isFinished()) {
+                resume(job);
+            }
+        }
+        if (!jobs.isEmpty()) {
+            LOG.infof("Restored %d jobs from %s", jobs.size(), directory);
+        }
+    }
+
+    private void resume(LabSeqJob job) {
+        int prefix = 0;
+        BigInteger[] prefixPower = null;
+        Path state = file(job.getId(), ".state");
+        if (Files.exists(state)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(state))) {
+                prefix = in.readInt();
+                prefixPower = new BigInteger[4];
+                for (int i = 0; i < 4; i++) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    prefixPower[i] = new BigInteger(bytes);
+                }
+            } catch (IOException e) {
+                LOG.warnf(e, "Discarding unreadable state of job %s, restarting it", job.getId());
+                prefix = 0;
+                prefixPower = null;
+            }
+        }
+        job.setState(LabSeqJob.State.QUEUED);
+        job.setProgressIndex(prefix);
+        LOG.infof("Resuming job %s for n=%d from index %d", job.getId(), job.getN(), prefix);
+
+        int resumePrefix = prefix;
+        BigInteger[] resumePower = prefixPower;
+        executor.execute(() -> run(job, resumePrefix, resumePower));
+    }
+
+    private boolean evictOldestFinished() {
+        Optional<LabSeqJob> oldest = jobs.values().stream()
+            .filter(job -> job.getState().isFinished())
+            .min(Comparator.comparing(LabSeqJob::getFinishedAt));
+        oldest.ifPresent(job -> {
+            jobs.remove(job.getId());
+            deleteFiles(job.getId());
+        });
+        return oldest.isPresent();
+    }
+
+    private void deleteFiles(String id) {
+        deleteQuietly(file(id, ".json"));
+        deleteQuietly(file(id, ".txt"));
+        deleteQuietly(file(id, ".state"));
+    }
+
+    private void writeResult(LabSeqJob job, BigInteger value) throws IOException {
+        Path temp = file(job.getId(), ".txt.tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            DecimalWriter.write(value, out);
+        }
+        Files.move(temp, file(job.getId(), ".txt"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        job.setDigits(DecimalWriter.digits(value));
+    }
+
+    private void saveState(LabSeqJob job, int prefix, BigInteger[] prefixPower) {
+        Path temp = file(job.getId(), ".state.tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(prefix);
+                for (BigInteger coefficient : prefixPower) {
+                    byte[] bytes = coefficient.toByteArray();
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            // Substituição atómica: um crash a meio deixa o estado anterior intacto
+            Files.move(temp, file(job.getId(), ".state"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            saveStatus(job);
+        } catch (IOException e) {
+            LOG.warnf(e, "Unable to save state of job %s", job.getId());
+        }
+    }
+
+    private void saveStatus(LabSeqJob job) {
+        Path temp = file(job.getId(), ".json.tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), job);
+            Files.move(temp, file(job.getId(), ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warnf(e, "Unable to save status of job %s", job.getId());
+        }
+    }
+
+    private Path file(String id, String extension) {
+        return directory.resolve(id + extension);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.debugf(e, "Unable to delete %s", file);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package labseq.service;
+
+import labseq.model.LabSeqResult;
+import labseq.service.cluster.ClusterRouter;
+import labseq.store.EncodedValueCache;
+import labseq.store.Frontier;
+import labseq.store.MemoTable;
+import labseq.store.OffHeapValueStore;
+import labseq.store.ValueCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Micrometer meters for the calculation path, scraped at /q/metrics.
+ *
+ * Calculation timers are tagged by strategy, by where the value came from and by the order of
+ * magnitude of n, so the tag space stays small (strategies x sources x 10 buckets). Timers are
+ * created on first use, published into an array with a compare-and-set and then looked up from
+ * it, which keeps recording down to a map read and a histogram update.
+ */
+@Startup
+@ApplicationScoped
+public class LabSeqMetrics {
+
+    private static final int BUCKETS = 10;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    ValueCache valueCache;
+
+    @Inject
+    MemoTable memoTable;
+
+    @Inject
+    Frontier frontier;
+
+    @Inject
+    EncodedValueCache encodedValueCache;
+
+    @Inject
+    ComputeScheduler computeScheduler;
+
+    @Inject
+    ParallelEngine parallelEngine;
+
+    @Inject
+    AccessLog accessLog;
+
+    @Inject
+    ClusterRouter clusterRouter;
+
+    // Janela do p99 recente da espera na fila, usado pela readiness
+    @ConfigProperty(name = "labseq.health.latency-window", defaultValue = "1M")
+    Duration latencyWindow;
+
+    private static final LabSeqResult.Source[] SOURCES = LabSeqResult.Source.values();
+
+    private final Map<String, AtomicReferenceArray<Timer>> timers = new ConcurrentHashMap<>();
+    private final Counter[] results = new Counter[SOURCES.length];
+    private Counter additions;
+    private Timer queueWait;
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("labseq.cache.requests", valueCache, cache -> cache.getStats().hitCount())
+            .tag("result", "hit")
+            .description("Value cache lookups that found the value")
+            .register(registry);
+        FunctionCounter.builder("labseq.cache.requests", valueCache, cache -> cache.getStats().missCount())
+            .tag("result", "miss")
+            .description("Value cache lookups that did not find the value")
+            .register(registry);
+        FunctionCounter.builder("labseq.cache.evictions", valueCache, cache -> cache.getStats().evictionCount())
+            .description("Values evicted from the value cache")
+            .register(registry);
+        Gauge.builder("labseq.cache.entries", valueCache, ValueCache::getEntryCount)
+            .description("Values currently in the value cache")
+            .register(registry);
+        Gauge.builder("labseq.cache.weight", valueCache, ValueCache::getWeightedBytes)
+            .baseUnit("bytes")
+            .description("Estimated heap held by the value cache")
+            .register(registry);
+        Gauge.builder("labseq.cache.max.weight", valueCache, ValueCache::getMaxBytes)
+            .baseUnit("bytes")
+            .description("Byte budget of the value cache")
+            .register(registry);
+        valueCache.getOffHeap().ifPresent(offHeap -> {
+            FunctionCounter.builder("labseq.cache.offheap.requests", offHeap, store -> store.getStats().hitCount())
+                .tag("result", "hit")
+                .description("Lookups of values in the off-heap tier")
+                .register(registry);
+            FunctionCounter.builder("labseq.cache.offheap.requests", offHeap, store -> store.getStats().missCount())
+                .tag("result", "miss")
+                .description("Lookups of values in the off-heap tier")
+                .register(registry);
+            Gauge.builder("labseq.cache.offheap.entries", offHeap, OffHeapValueStore::getEntryCount)
+                .description("Values currently in the off-heap tier")
+                .register(registry);
+            Gauge.builder("labseq.cache.offheap.weight", offHeap, OffHeapValueStore::getUsedBytes)
+                .baseUnit("bytes")
+                .description("Native memory held by the off-heap tier")
+                .register(registry);
+            Gauge.builder("labseq.cache.offheap.max.weight", offHeap, OffHeapValueStore::getMaxBytes)
+                .baseUnit("bytes")
+                .description("Byte budget of the off-heap tier")
+                .register(registry);
+        });
+        FunctionCounter.builder("labseq.cache.encoded.requests", encodedValueCache, cache -> cache.getStats().hitCount())
+            .tag("result", "hit")
+            .description("Lookups of stored encoded values")
+            .register(registry);
+        FunctionCounter.builder("labseq.cache.encoded.requests", encodedValueCache, cache -> cache.getStats().missCount())
+            .tag("result", "miss")
+            .description("Lookups of stored encoded values")
+            .register(registry);
+        Gauge.builder("labseq.cache.encoded.entries", encodedValueCache, EncodedValueCache::getEntryCount)
+            .description("Stored encoded values")
+            .register(registry);
+        Gauge.builder("labseq.cache.encoded.weight", encodedValueCache, EncodedValueCache::getWeightedBytes)
+            .baseUnit("bytes")
+            .description("Bytes held by stored encoded values")
+            .register(registry);
+        Gauge.builder("labseq.memo.size", memoTable, MemoTable::size)
+            .description("Indices held by the memo table")
+            .register(registry);
+        Gauge.builder("labseq.frontier.index", frontier, Frontier::getLastIndex)
+            .description("Highest index whose value is kept in the shared frontier")
+            .register(registry);
+        FunctionCounter.builder("labseq.frontier.advances", frontier, Frontier::getAdvances)
+            .description("Times a walk moved the shared frontier up")
+            .register(registry);
+        Gauge.builder("labseq.compute.queue.depth", computeScheduler, ComputeScheduler::getQueueDepth)
+            .description("Calculations waiting for a compute thread")
+            .register(registry);
+        Gauge.builder("labseq.compute.active", computeScheduler, ComputeScheduler::getActiveCount)
+            .description("Compute threads currently busy")
+            .register(registry);
+        Gauge.builder("labseq.parallel.active", parallelEngine, ParallelEngine::getActiveThreads)
+            .description("Parallel exponentiation workers currently busy")
+            .register(registry);
+        FunctionCounter.builder("labseq.access.log.dropped", accessLog, AccessLog::getDropped)
+            .description("Access log records dropped because the queue was full")
+            .register(registry);
+        FunctionCounter.builder("labseq.cluster.requests", clusterRouter, ClusterRouter::getForwarded)
+            .tag("outcome", "forwarded")
+            .description("Requests for indices owned by another node, by outcome")
+            .register(registry);
+        FunctionCounter.builder("labseq.cluster.requests", clusterRouter, ClusterRouter::getFallbacks)
+            .tag("outcome", "fallback")
+            .description("Requests for indices owned by another node, by outcome")
+            .register(registry);
+        Gauge.builder("labseq.cluster.unavailable", clusterRouter, ClusterRouter::getUnavailableCount)
+            .description("Owner nodes whose last forwarded request failed")
+            .register(registry);
+        for (LabSeqResult.Source source : SOURCES) {
+            results[source.ordinal()] = Counter.builder("labseq.results")
+                .tag("source", source.parameter())
+                .description("Values served, by where they came from")
+                .register(registry);
+        }
+        additions = Counter.builder("labseq.additions")
+            .description("Recurrence additions actually performed to serve requests")
+            .register(registry);
+        // Espera e não duração: um n enorme demora por natureza, só a fila mostra falta de workers.
+        // Sem etiquetas: um único p99 calculado no cliente, que decai ao fim da janela
+        queueWait = Timer.builder("labseq.compute.queue.wait")
+            .description("Time calculations waited for a compute thread over the recent window")
+            .publishPercentiles(0.99)
+            .distributionStatisticExpiry(latencyWindow)
+            .distributionStatisticBufferLength(3)
+            .register(registry);
+    }
+
+    /**
+     * 99th percentile of the time calculations waited in the compute queue over roughly the
+     * last {@code labseq.health.latency-window}.
+     */
+    public long getRecentQueueWaitP99Nanos() {
+        for (ValueAtPercentile percentile : queueWait.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return (long) percentile.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return 0;
+    }
+
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCalculation(LabSeqResult result, int n, long nanos) {
+        LabSeqResult.Source source = result.getSource();
+        results[source.ordinal()].increment();
+        if (result.getAdditions() > 0) {
+            additions.increment(result.getAdditions());
+        }
+
+        String strategy = result.getStrategy();
+        AtomicReferenceArray<Timer> bySlot = timers.computeIfAbsent(strategy,
+            name -> new AtomicReferenceArray<>(SOURCES.length * BUCKETS));
+        int bucket = bucket(n);
+        int slot = source.ordinal() * BUCKETS + bucket;
+        Timer timer = bySlot.get(slot);
+        if (timer == null) {
+            timer = Timer.builder("labseq.calculation")
+                .description("Time to produce l(n), from request to value")
+                .tag("strategy", strategy)
+                .tag("source", source.parameter())
+                .tag("n.bucket", "1e" + bucket)
+                .publishPercentileHistogram()
+                .register(registry);
+            // Quem perder a corrida usa o Timer publicado, que o registo já devolveria igual
+            if (!bySlot.compareAndSet(slot, null, timer)) {
+                timer = bySlot.get(slot);
+            }
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Ordem de grandeza de n: 0-9 -> 0, 10-99 -> 1, ...
+    static int bucket(int n) {
+        int bucket = 0;
+        for (int bound = 10; bucket < BUCKETS - 1 && n >= bound; bound *= 10) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
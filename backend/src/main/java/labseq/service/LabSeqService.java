@@ -1,90 +1,399 @@
 package labseq.service;
 
 import labseq.exception.InvalidIndexException;
-import io.quarkus.cache.CacheResult;
+import labseq.exception.WorkLimitExceededException;
+import labseq.model.LabSeqRangeItem;
+import labseq.model.LabSeqResult;
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.LongTable;
+import labseq.service.engine.PolynomialExponentiation;
+import labseq.service.engine.SequenceWalker;
+import labseq.service.strategy.CostModel;
+import labseq.service.strategy.LabSeqStrategy;
+import labseq.service.strategy.LabSeqStrategySelector;
+import labseq.store.CheckpointStore;
+import labseq.store.Frontier;
+import labseq.store.ValueCache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 
 @ApplicationScoped
 public class LabSeqService {
 
     private static final Logger LOG = Logger.getLogger(LabSeqService.class);
-    
-   
-    private static final int ITERATIVE_THRESHOLD = 1000;
+
+    public static final String CACHE = "cache";
+
+    // Resultados imutáveis partilhados: os índices da tabela de longs não alocam nada por pedido
+    private static final LabSeqResult[] LONG_TABLE_RESULTS = new LabSeqResult[LongTable.MAX_INDEX + 1];
+
+    static {
+        for (int n = 0; n <= LongTable.MAX_INDEX; n++) {
+            LONG_TABLE_RESULTS[n] = new LabSeqResult(LongTable.bigValue(n), LongTable.NAME, LabSeqResult.Source.LONG_TABLE, 0);
+        }
+    }
+
+    @Inject
+    LabSeqStrategySelector strategySelector;
+
+    @Inject
+    CheckpointStore checkpointStore;
+
+    @Inject
+    Frontier frontier;
+
+    @Inject
+    CostModel costModel;
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Inject
+    RequestCoalescer requestCoalescer;
+
+    @Inject
+    ValueCache valueCache;
+
+    @Inject
+    LabSeqMetrics metrics;
+
+    @Inject
+    ParallelEngine parallelEngine;
+
+    // Valores mais baratos do que isto (em ns) são recalculados em vez de ocuparem o cache
+    @ConfigProperty(name = "labseq.cache.min-recompute-cost", defaultValue = "100000")
+    double minRecomputeCost;
+
+    // Um único pedido de intervalo não pode caminhar para além deste índice
+    @ConfigProperty(name = "labseq.range.max-index", defaultValue = "200000")
+    int rangeMaxIndex;
+
+    @ConfigProperty(name = "labseq.batch.max-indices", defaultValue = "1000")
+    int batchMaxIndices;
+
+    // Tempo estimado para calcular o lote inteiro, segundo o CostModel
+    @ConfigProperty(name = "labseq.batch.max-cost", defaultValue = "5S")
+    Duration batchMaxCost;
+
+    // Soma do tamanho dos valores distintos, que podem ter de ficar em memória até serem enviados
+    @ConfigProperty(name = "labseq.batch.max-bytes", defaultValue = "67108864")
+    long batchMaxBytes;
 
     public BigInteger calculate(int n) {
+        return compute(n).getValue();
+    }
+
+    public LabSeqResult compute(int n) {
+        validateIndex(n);
+
+        long start = System.nanoTime();
+        if (LongTable.contains(n)) {
+            LabSeqResult result = LONG_TABLE_RESULTS[n];
+            metrics.recordCalculation(result, n, System.nanoTime() - start);
+            return result;
+        }
+
+        // Pedidos concorrentes para o mesmo n partilham um único cálculo
+        LabSeqResult result = requestCoalescer.execute(n, this::computeWithCheapestStrategy);
+        long nanos = System.nanoTime() - start;
+        metrics.recordCalculation(result, n, nanos);
+        return result.withCalculationNanos(nanos);
+    }
+
+    /**
+     * Estimated cost in nanoseconds of computing l(n) with the strategy that would be chosen now.
+     */
+    public double estimateCost(int n) {
         validateIndex(n);
-        
-        // Escolhe estratégia baseado no tamanho
-        if (n > ITERATIVE_THRESHOLD) {
-            LOG.debugf("Using iterative method for n=%d", n);
-            return calculateIterative(n);
-        } else {
-            LOG.debugf("Using recursive method with cache for n=%d", n);
-            return calculateRecursive(n);
-        }
-    }
-
-    @CacheResult(cacheName = "labseq-cache")
-    public BigInteger calculateRecursive(int n) {
-        // Base cases
-        if (n == 0) return BigInteger.ZERO;
-        if (n == 1) return BigInteger.ONE;
-        if (n == 2) return BigInteger.ZERO;
-        if (n == 3) return BigInteger.ONE;
-
-        // Recursive case: l(n) = l(n-4) + l(n-3)
-        // O cache automaticamente armazena resultados intermediários
-        BigInteger nMinus4 = calculateRecursive(n - 4);
-        BigInteger nMinus3 = calculateRecursive(n - 3);
-        
-        return nMinus4.add(nMinus3);
-    }
-
- 
+        if (LongTable.contains(n)) {
+            return 0;
+        }
+        if (valueCache.contains(n)) {
+            return costModel.cacheLookup();
+        }
+        return strategySelector.select(n).estimateCost(n, costModel);
+    }
+
+    private LabSeqResult computeWithCheapestStrategy(int n) {
+        BigInteger cached = valueCache.get(n);
+        if (cached != null) {
+            return new LabSeqResult(cached, CACHE, LabSeqResult.Source.CACHE, 0);
+        }
+
+        // Escolhe a estratégia mais barata para este n
+        LabSeqStrategy strategy = strategySelector.select(n);
+        double cost = strategy.estimateCost(n, costModel);
+        // Sem a guarda, debugf converte n para Integer em cada pedido mesmo com DEBUG desligado
+        if (LOG.isDebugEnabled()) {
+            LOG.debugf("Using %s strategy for n=%d", strategy.name(), n);
+        }
+
+        LabSeqResult result = strategy.compute(n);
+        if (worthCaching(strategy, cost)) {
+            valueCache.put(n, result.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Stores l(n) in the value cache under the same admission rule as computed requests:
+     * only if recomputing it with the strategy that would be chosen now costs at least
+     * {@code labseq.cache.min-recompute-cost}. Returns whether it was stored.
+     */
+    public boolean cacheIfCostly(int n, BigInteger value) {
+        if (LongTable.contains(n)) {
+            return false;
+        }
+        LabSeqStrategy strategy = strategySelector.select(n);
+        if (!worthCaching(strategy, strategy.estimateCost(n, costModel))) {
+            return false;
+        }
+        valueCache.put(n, value);
+        return true;
+    }
+
+    private boolean worthCaching(LabSeqStrategy strategy, double cost) {
+        return cost >= minRecomputeCost && !strategy.retainsResults();
+    }
+
+    /**
+     * l(n) by walking the recurrence from index 3, without reading or updating any shared
+     * state. The reference the other strategies are checked against.
+     */
     public BigInteger calculateIterative(int n) {
-        // Base cases
-        if (n == 0) return BigInteger.ZERO;
-        if (n == 1) return BigInteger.ONE;
-        if (n == 2) return BigInteger.ZERO;
-        if (n == 3) return BigInteger.ONE;
+        validateIndex(n);
+        return new SequenceWalker(LabSeqWindow.BASE).advanceTo(n);
+    }
+
+    public BigInteger calculateFastExponentiation(int n) {
+        validateIndex(n);
+        return PolynomialExponentiation.value(n);
+    }
 
-        // Array circular para os últimos 4 valores
-        // Isso permite O(1) de memória em vez de O(n)
-        BigInteger[] last4 = new BigInteger[4];
-        last4[0] = BigInteger.ZERO;  // l(0)
-        last4[1] = BigInteger.ONE;   // l(1)
-        last4[2] = BigInteger.ZERO;  // l(2)
-        last4[3] = BigInteger.ONE;   // l(3)
+    /**
+     * Fast exponentiation that reports each intermediate index and can resume from a saved
+     * x^prefix (prefix 0 starts from scratch). Used by long-running jobs.
+     */
+    public BigInteger calculateResumable(int n, int prefix, BigInteger[] prefixPower,
+                                         PolynomialExponentiation.ProgressListener listener) {
+        validateIndex(n);
+        return PolynomialExponentiation.valueOf(parallelEngine.power(n, prefix, prefixPower, listener));
+    }
+
+    /**
+     * Lazily walks l(from), l(from + step), ... up to l(to) in a single pass.
+     *
+     * Nothing is computed until the iterator is requested, and each element is produced only
+     * when the consumer asks for it, so only the current four-value window is ever held.
+     */
+    public Iterable<LabSeqRangeItem> range(int from, int to, int step) {
+        validateIndex(from);
+        if (to < from) {
+            throw new InvalidIndexException("Range end must not be lower than its start. Received: from=" + from + ", to=" + to);
+        }
+        if (step < 1) {
+            throw new InvalidIndexException("Range step must be a positive integer. Received: " + step);
+        }
+        if (to > rangeMaxIndex) {
+            throw new InvalidIndexException("Range end must not exceed " + rangeMaxIndex + ". Received: " + to);
+        }
+        return () -> new RangeIterator(seedWindow(from), from, to, step);
+    }
 
-        // Calcula iterativamente de 4 até n
-        for (int i = 4; i <= n; i++) {
-            // l(i) = l(i-4) + l(i-3)
-            BigInteger current = last4[(i - 4) % 4].add(last4[(i - 3) % 4]);
-            last4[i % 4] = current;
+    /**
+     * Lazily computes l(n) for every requested index and yields them in request order.
+     *
+     * The distinct indices are computed in one ascending pass: values already in the long table
+     * or the cache are read, and the rest are captured by a single walker that only restarts
+     * from a checkpoint or an exponentiation when that is cheaper than walking the gap. Items
+     * are produced as soon as every index before them in request order is available, and each
+     * value is released once its last occurrence has been sent.
+     */
+    public Iterable<LabSeqRangeItem> batch(List<Integer> indices) {
+        if (indices == null || indices.isEmpty()) {
+            throw new InvalidIndexException("Batch must contain at least one index");
+        }
+        if (indices.size() > batchMaxIndices) {
+            throw new WorkLimitExceededException("Batch must not contain more than " + batchMaxIndices
+                + " indices. Received: " + indices.size());
+        }
+        int[] requested = new int[indices.size()];
+        for (int i = 0; i < requested.length; i++) {
+            Integer n = indices.get(i);
+            if (n == null) {
+                throw new InvalidIndexException("Batch indices must not be null (position " + i + ")");
+            }
+            validateIndex(n);
+            requested[i] = n;
         }
+        int[] ascending = Arrays.stream(requested).sorted().distinct().toArray();
 
-        return last4[n % 4];
+        long bytes = 0;
+        for (int n : ascending) {
+            bytes += (long) (n * CostModel.BITS_PER_INDEX / 8) + 1;
+        }
+        if (bytes > batchMaxBytes) {
+            throw new WorkLimitExceededException("Batch values would take about " + bytes
+                + " bytes, above the limit of " + batchMaxBytes);
+        }
+        double cost = batchCost(ascending);
+        if (cost > batchMaxCost.toNanos()) {
+            throw new WorkLimitExceededException(String.format("Batch would take about %.1fs to compute, above the limit of %.1fs",
+                cost / 1e9, batchMaxCost.toMillis() / 1e3));
+        }
+        return () -> new BatchIterator(requested, ascending);
     }
 
-    public boolean shouldUseIterative(int n) {
-        return n > ITERATIVE_THRESHOLD;
+    // Mesmas decisões que o BatchIterator, sem calcular nada
+    private double batchCost(int[] ascending) {
+        double cost = 0;
+        int position = -1;
+        for (int n : ascending) {
+            if (LongTable.contains(n) || valueCache.contains(n)) {
+                cost += costModel.cacheLookup();
+                continue;
+            }
+            int from = Math.max(Math.max(position, storedFloorIndex(n)), LabSeqWindow.BASE.getLastIndex());
+            cost += Math.min(costModel.additions(from, n), costModel.exponentiation(Math.max(n, LabSeqWindow.BASE.getLastIndex())));
+            position = n;
+        }
+        return cost;
     }
 
+    /**
+     * Cheapest window to start a walk towards n: the frontier or a stored checkpoint, or one
+     * computed directly by exponentiation when the walk from either would cost more.
+     */
+    public LabSeqWindow seedWindow(int n) {
+        int lastIndex = Math.max(n, LabSeqWindow.BASE.getLastIndex());
+        int from = Math.max(storedFloorIndex(n), LabSeqWindow.BASE.getLastIndex());
+        if (costModel.exponentiation(lastIndex) < costModel.additions(from, n)) {
+            return PolynomialExponentiation.window(lastIndex);
+        }
+        return storedSeed(n);
+    }
 
-    private void validateIndex(int n) {
+    // A janela guardada mais alta que termina em n ou abaixo: a fronteira, um checkpoint ou a base
+    private LabSeqWindow storedSeed(int n) {
+        LabSeqWindow seed = frontier.floor(n);
+        if (seed == null || checkpointStore.floorIndex(n) > seed.getLastIndex()) {
+            LabSeqWindow checkpoint = checkpointStore.floor(n);
+            seed = checkpoint != null ? checkpoint : seed;
+        }
+        return seed != null ? seed : LabSeqWindow.BASE;
+    }
+
+    private int storedFloorIndex(int n) {
+        return Math.max(frontier.floorIndex(n), checkpointStore.floorIndex(n));
+    }
+
+
+    public void validateIndex(int n) {
         if (n < 0) {
             LOG.warnf("Invalid index received: n=%d", n);
             throw new InvalidIndexException("Index must be a non-negative integer. Received: " + n);
         }
     }
 
+    private final class RangeIterator implements Iterator<LabSeqRangeItem> {
+
+        private final SequenceWalker walker;
+        private final int to;
+        private final int step;
+        private long next;
 
-    public int getIterativeThreshold() {
-        return ITERATIVE_THRESHOLD;
+        RangeIterator(LabSeqWindow seed, int from, int to, int step) {
+            this.walker = new SequenceWalker(seed);
+            this.next = from;
+            this.to = to;
+            this.step = step;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next <= to;
+        }
+
+        @Override
+        public LabSeqRangeItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int n = (int) next;
+            // A janela inicial pode já conter índices abaixo do ponto de partida
+            BigInteger value = inFlightWalks.walk(walker, n);
+            next += step;
+            return new LabSeqRangeItem(n, value);
+        }
+    }
+
+    private final class BatchIterator implements Iterator<LabSeqRangeItem> {
+
+        private final int[] requested;
+        private final int[] ascending;
+        // Valores calculados à espera de serem enviados, e quantas vezes ainda faltam enviar
+        private final Map<Integer, BigInteger> ready = new HashMap<>();
+        private final Map<Integer, Integer> remaining = new HashMap<>();
+        private SequenceWalker walker;
+        private int computed;
+        private int position;
+
+        BatchIterator(int[] requested, int[] ascending) {
+            this.requested = requested;
+            this.ascending = ascending;
+            for (int n : requested) {
+                remaining.merge(n, 1, Integer::sum);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < requested.length;
+        }
+
+        @Override
+        public LabSeqRangeItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int n = requested[position++];
+            while (!ready.containsKey(n)) {
+                int next = ascending[computed++];
+                ready.put(next, valueOf(next));
+            }
+            BigInteger value = remaining.merge(n, -1, Integer::sum) == 0 ? ready.remove(n) : ready.get(n);
+            return new LabSeqRangeItem(n, value);
+        }
+
+        private BigInteger valueOf(int n) {
+            if (LongTable.contains(n)) {
+                return LongTable.bigValue(n);
+            }
+            BigInteger cached = valueCache.get(n);
+            if (cached != null) {
+                return cached;
+            }
+            int position = walker != null ? walker.index() : -1;
+            if (walker == null || storedFloorIndex(n) > position
+                    || costModel.exponentiation(n) < costModel.additions(position, n)) {
+                LabSeqWindow seed = seedWindow(n);
+                if (walker == null || seed.getLastIndex() > position) {
+                    walker = new SequenceWalker(seed);
+                }
+            }
+            return inFlightWalks.walk(walker, n);
+        }
     }
-}
\ No newline at end of file
+}
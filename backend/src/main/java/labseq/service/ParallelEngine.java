@@ -0,0 +1,83 @@
+package labseq.service;
+
+import labseq.service.engine.ParallelExponentiation;
+import labseq.service.engine.PolynomialExponentiation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Multi-core exponentiation for huge indices.
+ *
+ * All calculations share one ForkJoinPool of {@code labseq.parallel.max-threads} workers (half
+ * the cores by default), so a single huge n can use several cores but never all of them, and
+ * concurrent huge requests split the same workers instead of multiplying them. Indices below
+ * {@code labseq.parallel.min-index}, or a cap of 1, use the sequential engine.
+ */
+@ApplicationScoped
+public class ParallelEngine {
+
+    private static final Logger LOG = Logger.getLogger(ParallelEngine.class);
+
+    @ConfigProperty(name = "labseq.parallel.max-threads")
+    Optional<Integer> maxThreads;
+
+    @ConfigProperty(name = "labseq.parallel.min-index", defaultValue = "1000000")
+    int minIndex;
+
+    private ForkJoinPool pool;
+    private ParallelExponentiation exponentiation;
+
+    @PostConstruct
+    void init() {
+        int threads = maxThreads.orElse(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        if (threads <= 1) {
+            LOG.info("Parallel exponentiation disabled (labseq.parallel.max-threads <= 1)");
+            return;
+        }
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("labseq-parallel-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        exponentiation = new ParallelExponentiation(pool);
+        LOG.infof("Parallel exponentiation using up to %d threads from n=%d", threads, minIndex);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public boolean appliesTo(int n) {
+        return exponentiation != null && n >= minIndex;
+    }
+
+    public BigInteger value(int n) {
+        return appliesTo(n) ? exponentiation.value(n) : PolynomialExponentiation.value(n);
+    }
+
+    public BigInteger[] power(int n, int prefix, BigInteger[] prefixPower,
+                              PolynomialExponentiation.ProgressListener listener) {
+        return appliesTo(n)
+            ? exponentiation.power(n, prefix, prefixPower, listener)
+            : PolynomialExponentiation.power(n, prefix, prefixPower, listener);
+    }
+
+    public int getParallelism() {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
+    public int getActiveThreads() {
+        return pool != null ? pool.getActiveThreadCount() : 0;
+    }
+}
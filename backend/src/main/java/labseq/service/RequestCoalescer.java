@@ -0,0 +1,106 @@
+package labseq.service;
+
+import labseq.model.LabSeqResult;
+import labseq.service.strategy.CostModel;
+import labseq.service.strategy.LabSeqStrategy;
+import labseq.service.strategy.LabSeqStrategySelector;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Single-flight layer in front of the strategies.
+ *
+ * Concurrent requests for the same n share one computation. A request for an n that a running
+ * linear walk will pass shortly attaches to that walk instead, when waiting for it is cheaper
+ * than the best strategy on its own.
+ */
+@ApplicationScoped
+public class RequestCoalescer {
+
+    public static final String ATTACHED = "coalesced-walk";
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Inject
+    LabSeqStrategySelector strategySelector;
+
+    @Inject
+    CostModel costModel;
+
+    private final Map<Integer, CompletableFuture<LabSeqResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalescedIdentical = new LongAdder();
+    private final LongAdder coalescedAttached = new LongAdder();
+
+    public LabSeqResult execute(int n, IntFunction<LabSeqResult> computation) {
+        CompletableFuture<LabSeqResult> mine = new CompletableFuture<>();
+        CompletableFuture<LabSeqResult> running = inFlight.putIfAbsent(n, mine);
+        if (running != null) {
+            coalescedIdentical.increment();
+            return join(running);
+        }
+
+        try {
+            LabSeqResult result = attachOrCompute(n, computation);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(n, mine);
+        }
+    }
+
+    public long getComputations() {
+        return computations.sum();
+    }
+
+    public long getCoalescedIdentical() {
+        return coalescedIdentical.sum();
+    }
+
+    public long getCoalescedAttached() {
+        return coalescedAttached.sum();
+    }
+
+    private LabSeqResult attachOrCompute(int n, IntFunction<LabSeqResult> computation) {
+        int position = inFlightWalks.bestPosition(n);
+        if (position >= 0 && costModel.additions(position, n) < cheapestCost(n)) {
+            CompletableFuture<BigInteger> attached = inFlightWalks.attach(n);
+            BigInteger value = attached != null ? attached.join() : null;
+            if (value != null) {
+                coalescedAttached.increment();
+                return new LabSeqResult(value, ATTACHED, LabSeqResult.Source.IN_FLIGHT, 0);
+            }
+        }
+        computations.increment();
+        return computation.apply(n);
+    }
+
+    private double cheapestCost(int n) {
+        LabSeqStrategy strategy = strategySelector.select(n);
+        return strategy.estimateCost(n, costModel);
+    }
+
+    private static LabSeqResult join(CompletableFuture<LabSeqResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package labseq.service.cluster;
+
+import labseq.service.LabSeqService;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional cluster mode: each index range is owned by one node, which computes and caches it.
+ *
+ * With {@code labseq.cluster.enabled}, requests for indices owned by another node (see
+ * {@link HashRing}) are forwarded to it over HTTP and its response is passed through. Requests
+ * that are cheap to answer locally are never forwarded. A forwarded request carries
+ * {@link #FORWARDED_HEADER}, and a node never forwards a request that has it, so a
+ * misconfigured ring cannot loop. When the owner cannot be reached, times out or fails, the
+ * request is computed locally instead.
+ */
+@ApplicationScoped
+public class ClusterRouter {
+
+    private static final Logger LOG = Logger.getLogger(ClusterRouter.class);
+
+    public static final String FORWARDED_HEADER = "X-LabSeq-Forwarded";
+    public static final String SERVED_BY_HEADER = "X-LabSeq-Served-By";
+
+    // Cabeçalhos da resposta do dono que seguem para o cliente
+    private static final List<String> PASSED_HEADERS = List.of(
+        "Content-Type", "Content-Encoding", "ETag", "Cache-Control", "Vary",
+        "X-LabSeq-N", "X-LabSeq-Bit-Length", "X-LabSeq-Calculation-Time", "X-LabSeq-From-Cache",
+        "X-LabSeq-Strategy", "X-LabSeq-Source", "X-LabSeq-Additions");
+
+    @Inject
+    LabSeqService labSeqService;
+
+    @ConfigProperty(name = "labseq.cluster.enabled", defaultValue = "false")
+    boolean enabled;
+
+    // URL base deste nó, tal como aparece em labseq.cluster.nodes
+    @ConfigProperty(name = "labseq.cluster.self")
+    Optional<String> self;
+
+    @ConfigProperty(name = "labseq.cluster.nodes")
+    Optional<List<String>> nodes;
+
+    @ConfigProperty(name = "labseq.cluster.range-size", defaultValue = "1000")
+    int rangeSize;
+
+    @ConfigProperty(name = "labseq.cluster.virtual-nodes", defaultValue = "128")
+    int virtualNodes;
+
+    // Custo estimado (ns) abaixo do qual é mais rápido responder localmente do que reencaminhar
+    @ConfigProperty(name = "labseq.cluster.min-forward-cost", defaultValue = "1000000")
+    double minForwardCost;
+
+    @ConfigProperty(name = "labseq.cluster.connect-timeout", defaultValue = "1S")
+    Duration connectTimeout;
+
+    @ConfigProperty(name = "labseq.cluster.request-timeout", defaultValue = "60S")
+    Duration requestTimeout;
+
+    private HashRing ring;
+    private String selfNode;
+    private HttpClient client;
+
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    // Donos que falharam o último reencaminhamento; só as mudanças de estado vão para o log
+    private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        selfNode = normalize(self.orElseThrow(() ->
+            new IllegalStateException("labseq.cluster.self is required when labseq.cluster.enabled is true")));
+        Set<String> members = new LinkedHashSet<>();
+        members.add(selfNode);
+        nodes.orElse(List.of()).forEach(node -> members.add(normalize(node)));
+        ring = new HashRing(members, rangeSize, virtualNodes);
+        client = HttpClient.newBuilder()
+            .connectTimeout(connectTimeout)
+            .build();
+        LOG.infof("Cluster mode on as %s with %d nodes, %d indices per range", selfNode, members.size(), rangeSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Owner of n when the request should go there, or empty to compute it here.
+     */
+    public Optional<String> forwardTarget(int n, boolean alreadyForwarded) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (alreadyForwarded) {
+            received.increment();
+            return Optional.empty();
+        }
+        String owner = ring.owner(n);
+        if (owner.equals(selfNode) || labSeqService.estimateCost(n) < minForwardCost) {
+            return Optional.empty();
+        }
+        return Optional.of(owner);
+    }
+
+    /**
+     * Asks the owner for l(n). Completes with the owner's response, or with null when the
+     * owner could not answer and the caller should compute locally.
+     */
+    public Uni<Response> forward(String owner, int n, String format, String accept, String acceptEncoding) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + "/labseq/" + n + "?format=" + format))
+            .timeout(requestTimeout)
+            .header("Accept", accept != null ? accept : "application/json")
+            .header(FORWARDED_HEADER, selfNode);
+        // O corpo segue para o cliente tal como vem, por isso a codificação é a que o cliente aceita
+        if (acceptEncoding != null) {
+            builder.header("Accept-Encoding", acceptEncoding);
+        }
+        HttpRequest request = builder.GET().build();
+
+        return Uni.createFrom().completionStage(() -> client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+            .map(response -> {
+                // 4xx do dono é uma resposta válida; 5xx (incluindo saturação) é tratado como indisponível
+                if (response.statusCode() >= 500) {
+                    fallback(owner, n, "HTTP " + response.statusCode());
+                    return null;
+                }
+                forwarded.increment();
+                if (unavailable.remove(owner)) {
+                    LOG.infof("Owner %s is answering again, forwarding its indices to it", owner);
+                }
+                return passThrough(owner, response);
+            })
+            .onFailure().recoverWithItem(e -> {
+                fallback(owner, n, e.toString());
+                return null;
+            });
+    }
+
+    public long getForwarded() {
+        return forwarded.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public int getUnavailableCount() {
+        return unavailable.size();
+    }
+
+    public List<String> getNodes() {
+        return ring != null ? ring.getNodes() : List.of();
+    }
+
+    private void fallback(String owner, int n, String reason) {
+        fallbacks.increment();
+        if (unavailable.add(owner)) {
+            LOG.warnf("Owner %s of n=%d unavailable (%s), computing its indices locally until it answers", owner, n, reason);
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debugf("Owner %s of n=%d still unavailable (%s), computing locally", owner, n, reason);
+        }
+    }
+
+    private static Response passThrough(String owner, HttpResponse<byte[]> response) {
+        Response.ResponseBuilder builder = Response.status(response.statusCode()).entity(response.body());
+        HttpHeaders headers = response.headers();
+        for (String name : PASSED_HEADERS) {
+            headers.firstValue(name).ifPresent(value -> builder.header(name, value));
+        }
+        return builder.header(SERVED_BY_HEADER, owner).build();
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
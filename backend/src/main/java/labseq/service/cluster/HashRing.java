@@ -0,0 +1,82 @@
+package labseq.service.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring assigning ranges of indices to nodes.
+ *
+ * Indices are grouped into shards of {@code rangeSize} consecutive values, so neighbouring
+ * indices (which share checkpoints and walks) land on the same node. Each node is placed on
+ * the ring at {@code virtualNodes} points; a shard belongs to the first point at or after its
+ * hash. Adding or removing a node only moves the shards next to its points, roughly 1/N of
+ * the total. Immutable once built.
+ */
+public final class HashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final List<String> nodes;
+    private final int rangeSize;
+
+    public HashRing(Collection<String> nodes, int rangeSize, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (rangeSize < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("Range size and virtual nodes must be positive");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.rangeSize = rangeSize;
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // Colisões entre pontos são raríssimas com 64 bits; o primeiro a ocupar fica
+                points.putIfAbsent(pointHash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Node that owns index n.
+     */
+    public String owner(int n) {
+        long hash = mix(n / rangeSize);
+        Map.Entry<Long, String> point = points.ceilingEntry(hash);
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public int getRangeSize() {
+        return rangeSize;
+    }
+
+    // Posição estável no anel para cada nó virtual, igual em todas as réplicas
+    private static long pointHash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is required by every Java platform", e);
+        }
+    }
+
+    // Finalizador do SplitMix64: espalha números de shard consecutivos por todo o anel
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,155 @@
+package labseq.service.engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Decimal output of large non-negative integers without materializing the whole String.
+ *
+ * The value is split recursively by 10^(2^k) (divide-and-conquer radix conversion) until the
+ * pieces are small enough for {@link BigInteger#toString()}, and the pieces are written to the
+ * stream left to right as they are produced, so memory stays proportional to the number itself
+ * rather than to number + String + response buffer.
+ */
+public final class DecimalWriter {
+
+    // Abaixo disto (~1200 dígitos) a conversão direta do BigInteger é mais rápida
+    private static final int DIRECT_BITS = 4096;
+
+    // 10^(2^k) acima deste nível é calculado por pedido em vez de ficar em memória para sempre
+    private static final int CACHED_LEVELS = 20;
+
+    private static final double LOG10_2 = Math.log10(2);
+
+    // Erro máximo de log10 calculado a partir dos bits mais altos, com folga
+    private static final double LOG10_MARGIN = 1e-5;
+
+    private static final byte[] ZEROS = new byte[1024];
+
+    static {
+        Arrays.fill(ZEROS, (byte) '0');
+    }
+
+    // POWERS[k] = 10^(2^k)
+    private static volatile BigInteger[] powers = {BigInteger.TEN};
+
+    private DecimalWriter() {}
+
+    /**
+     * Number of decimal digits of value, from its bit length and its leading bits. Only a value
+     * within a tiny fraction of a power of ten needs an exact comparison.
+     */
+    public static int digits(BigInteger value) {
+        requireNonNegative(value);
+        int bits = value.bitLength();
+        if (bits < 64) {
+            long small = value.longValue();
+            int digits = 1;
+            for (long bound = 10; digits < 19 && small >= bound; bound *= 10) {
+                digits++;
+            }
+            return digits;
+        }
+        // 2^(bits-1) <= value < 2^bits, logo o número de dígitos é a estimativa ou a estimativa + 1
+        int estimate = (int) ((bits - 1) * LOG10_2) + 1;
+        // Os 63 bits mais altos decidem se o valor chega a 10^estimate, salvo se estiver muito perto
+        int shift = bits - 63;
+        double log10 = Math.log10(value.shiftRight(shift).longValue()) + shift * LOG10_2;
+        if (log10 < estimate - LOG10_MARGIN) {
+            return estimate;
+        }
+        if (log10 > estimate + LOG10_MARGIN) {
+            return estimate + 1;
+        }
+        return value.compareTo(tenPower(estimate, bits)) >= 0 ? estimate + 1 : estimate;
+    }
+
+    // 10^exponent como produto das potências 10^(2^k) que a conversão já guarda
+    private static BigInteger tenPower(int exponent, int bits) {
+        BigInteger[] tenPowers = extend(powersFor(bits), 31 - Integer.numberOfLeadingZeros(exponent));
+        BigInteger power = BigInteger.ONE;
+        for (int k = 0; exponent >>> k != 0; k++) {
+            if ((exponent >>> k & 1) != 0) {
+                power = power.multiply(tenPowers[k]);
+            }
+        }
+        return power;
+    }
+
+    /**
+     * Writes the decimal digits of value to out as US-ASCII.
+     */
+    public static void write(BigInteger value, OutputStream out) throws IOException {
+        requireNonNegative(value);
+        write(value, 0, out, powersFor(value.bitLength()));
+    }
+
+    // width > 0: escreve exatamente width dígitos, com zeros à esquerda
+    private static void write(BigInteger value, int width, OutputStream out, BigInteger[] tenPowers) throws IOException {
+        if (value.bitLength() <= DIRECT_BITS) {
+            byte[] digits = value.toString().getBytes(StandardCharsets.US_ASCII);
+            if (width > 0) {
+                writeZeros(width - digits.length, out);
+            }
+            out.write(digits);
+            return;
+        }
+        int level = level(value.bitLength());
+        int lowDigits = 1 << level;
+        BigInteger[] split = value.divideAndRemainder(tenPowers[level]);
+        write(split[0], width > 0 ? width - lowDigits : 0, out, tenPowers);
+        write(split[1], lowDigits, out, tenPowers);
+    }
+
+    // Maior k com 10^(2^k) até cerca de metade dos dígitos do valor
+    private static int level(int bits) {
+        int halfDigits = (int) (bits * LOG10_2 / 2);
+        return 31 - Integer.numberOfLeadingZeros(Math.max(halfDigits, 1));
+    }
+
+    private static BigInteger[] powersFor(int bits) {
+        if (bits <= DIRECT_BITS) {
+            return powers;
+        }
+        int top = level(bits);
+        BigInteger[] cached = powers;
+        if (top < cached.length) {
+            return cached;
+        }
+        if (top < CACHED_LEVELS) {
+            synchronized (DecimalWriter.class) {
+                powers = extend(powers, top);
+                return powers;
+            }
+        }
+        return extend(extend(cached, CACHED_LEVELS - 1), top);
+    }
+
+    private static BigInteger[] extend(BigInteger[] base, int top) {
+        if (top < base.length) {
+            return base;
+        }
+        BigInteger[] extended = Arrays.copyOf(base, top + 1);
+        for (int k = base.length; k <= top; k++) {
+            extended[k] = extended[k - 1].multiply(extended[k - 1]);
+        }
+        return extended;
+    }
+
+    private static void writeZeros(int count, OutputStream out) throws IOException {
+        while (count > 0) {
+            int chunk = Math.min(count, ZEROS.length);
+            out.write(ZEROS, 0, chunk);
+            count -= chunk;
+        }
+    }
+
+    private static void requireNonNegative(BigInteger value) {
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("Value must be non-negative");
+        }
+    }
+}
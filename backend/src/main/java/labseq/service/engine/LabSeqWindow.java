@@ -0,0 +1,45 @@
+package labseq.service.engine;
+
+import java.math.BigInteger;
+
+/**
+ * Immutable snapshot of four consecutive sequence values l(lastIndex - 3) .. l(lastIndex).
+ *
+ * Four values are exactly the state of the recurrence, so any window can seed a walk
+ * towards a higher index.
+ */
+public final class LabSeqWindow {
+
+    public static final LabSeqWindow BASE = new LabSeqWindow(3,
+        BigInteger.ZERO, BigInteger.ONE, BigInteger.ZERO, BigInteger.ONE);
+
+    private final int lastIndex;
+    private final BigInteger[] values;
+
+    public LabSeqWindow(int lastIndex, BigInteger... values) {
+        if (lastIndex < 3 || values.length != 4) {
+            throw new IllegalArgumentException("A window holds four values ending at index >= 3");
+        }
+        this.lastIndex = lastIndex;
+        this.values = values.clone();
+    }
+
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    public int getFirstIndex() {
+        return lastIndex - 3;
+    }
+
+    public boolean contains(int n) {
+        return n >= lastIndex - 3 && n <= lastIndex;
+    }
+
+    public BigInteger get(int n) {
+        if (!contains(n)) {
+            throw new IndexOutOfBoundsException("Index " + n + " outside window ending at " + lastIndex);
+        }
+        return values[n - lastIndex + 3];
+    }
+}
@@ -0,0 +1,75 @@
+package labseq.service.engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Every l(n) that fits in a signed long (n up to {@link #MAX_INDEX}), computed once when the
+ * class loads, with its BigInteger and decimal ASCII forms, so these indices are answered
+ * without arithmetic, allocation or cache lookups.
+ */
+public final class LongTable {
+
+    public static final String NAME = "long-table";
+
+    public static final int MAX_INDEX;
+
+    private static final long[] VALUES;
+    private static final BigInteger[] BIG_VALUES;
+    private static final byte[][] DIGITS;
+
+    static {
+        long[] values = new long[256];
+        values[1] = 1;
+        values[3] = 1;
+        int n = 4;
+        while (true) {
+            long a = values[n - 4];
+            long b = values[n - 3];
+            // Para no primeiro valor que já não cabe em 63 bits
+            if (a > Long.MAX_VALUE - b) {
+                break;
+            }
+            values[n++] = a + b;
+        }
+        MAX_INDEX = n - 1;
+        VALUES = Arrays.copyOf(values, n);
+        BIG_VALUES = new BigInteger[n];
+        DIGITS = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            BIG_VALUES[i] = BigInteger.valueOf(VALUES[i]);
+            DIGITS[i] = Long.toString(VALUES[i]).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private LongTable() {}
+
+    public static boolean contains(int n) {
+        return n >= 0 && n <= MAX_INDEX;
+    }
+
+    public static long value(int n) {
+        return VALUES[n];
+    }
+
+    /**
+     * The shared BigInteger for l(n); no new instance is created.
+     */
+    public static BigInteger bigValue(int n) {
+        return BIG_VALUES[n];
+    }
+
+    public static int digitCount(int n) {
+        return DIGITS[n].length;
+    }
+
+    /**
+     * Writes the decimal digits of l(n) from the precomputed ASCII bytes.
+     */
+    public static void writeDigits(int n, OutputStream out) throws IOException {
+        out.write(DIGITS[n]);
+    }
+}
@@ -0,0 +1,137 @@
+package labseq.service.engine;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * {@link PolynomialExponentiation} with the big-number work of each squaring spread over a
+ * {@link ForkJoinPool}.
+ *
+ * The squarings themselves are sequential (each needs the previous one), but the 10 products
+ * inside a squaring are independent and run as separate tasks. Products of operands above
+ * {@code splitBits} are further split Karatsuba-style into three half-size products, which
+ * keeps every worker busy on machines with more cores than products. Squarings with
+ * coefficients below {@code forkBits} run on the calling thread, where forking costs more
+ * than it saves.
+ *
+ * The pool's parallelism is the cap: all calculations submitted to the same pool share it.
+ */
+public final class ParallelExponentiation {
+
+    // ~n = 160 mil; abaixo disto as multiplicações são curtas demais para compensar
+    static final int DEFAULT_FORK_BITS = 1 << 16;
+
+    // ~n = 2,6 milhões; cada divisão de Karatsuba troca um produto por três com metade do tamanho
+    static final int DEFAULT_SPLIT_BITS = 1 << 20;
+
+    private final ForkJoinPool pool;
+    private final int forkBits;
+    private final int splitBits;
+
+    public ParallelExponentiation(ForkJoinPool pool) {
+        this(pool, DEFAULT_FORK_BITS, DEFAULT_SPLIT_BITS);
+    }
+
+    ParallelExponentiation(ForkJoinPool pool, int forkBits, int splitBits) {
+        this.pool = pool;
+        this.forkBits = forkBits;
+        this.splitBits = splitBits;
+    }
+
+    public BigInteger value(int n) {
+        return PolynomialExponentiation.valueOf(power(n, 0, null, null));
+    }
+
+    /**
+     * Same contract as {@link PolynomialExponentiation#power(int, int, BigInteger[], PolynomialExponentiation.ProgressListener)}.
+     */
+    public BigInteger[] power(int n, int prefix, BigInteger[] prefixPower,
+                              PolynomialExponentiation.ProgressListener listener) {
+        return PolynomialExponentiation.power(n, prefix, prefixPower, listener, this::square);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    BigInteger[] square(BigInteger[] p) {
+        if (p[0].bitLength() < forkBits && p[3].bitLength() < forkBits) {
+            return PolynomialExponentiation.square(p);
+        }
+        return pool.invoke(new SquareTask(p));
+    }
+
+    // p(x)^2 mod (x^4 - x - 1) com os 10 produtos em paralelo
+    private final class SquareTask extends RecursiveTask<BigInteger[]> {
+
+        private final BigInteger[] p;
+
+        SquareTask(BigInteger[] p) {
+            this.p = p;
+        }
+
+        @Override
+        protected BigInteger[] compute() {
+            Product p00 = new Product(p[0], p[0]);
+            Product p01 = new Product(p[0], p[1]);
+            Product p02 = new Product(p[0], p[2]);
+            Product p11 = new Product(p[1], p[1]);
+            Product p03 = new Product(p[0], p[3]);
+            Product p12 = new Product(p[1], p[2]);
+            Product p13 = new Product(p[1], p[3]);
+            Product p22 = new Product(p[2], p[2]);
+            Product p23 = new Product(p[2], p[3]);
+            Product p33 = new Product(p[3], p[3]);
+            ForkJoinTask.invokeAll(p00, p01, p02, p11, p03, p12, p13, p22, p23, p33);
+
+            return PolynomialExponentiation.reduce(
+                p00.join(),
+                p01.join().shiftLeft(1),
+                p02.join().shiftLeft(1).add(p11.join()),
+                p03.join().add(p12.join()).shiftLeft(1),
+                p13.join().shiftLeft(1).add(p22.join()),
+                p23.join().shiftLeft(1),
+                p33.join());
+        }
+    }
+
+    // a * b para operandos não negativos; os coeficientes de x^n nunca são negativos
+    private final class Product extends RecursiveTask<BigInteger> {
+
+        private final BigInteger a;
+        private final BigInteger b;
+
+        Product(BigInteger a, BigInteger b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (Math.min(a.bitLength(), b.bitLength()) < splitBits) {
+                return a.multiply(b);
+            }
+            int half = Math.max(a.bitLength(), b.bitLength()) / 2;
+            BigInteger a1 = a.shiftRight(half);
+            BigInteger a0 = a.subtract(a1.shiftLeft(half));
+            // Mantém a identidade a == b, para que o BigInteger use o quadrado nas folhas
+            BigInteger b1 = a == b ? a1 : b.shiftRight(half);
+            BigInteger b0 = a == b ? a0 : b.subtract(b1.shiftLeft(half));
+
+            Product low = new Product(a0, b0);
+            Product high = new Product(a1, b1);
+            low.fork();
+            high.fork();
+            BigInteger sum0 = a0.add(a1);
+            BigInteger middle = new Product(sum0, a == b ? sum0 : b0.add(b1)).compute();
+            BigInteger z2 = high.join();
+            BigInteger z0 = low.join();
+
+            return z2.shiftLeft(2 * half)
+                .add(middle.subtract(z2).subtract(z0).shiftLeft(half))
+                .add(z0);
+        }
+    }
+}
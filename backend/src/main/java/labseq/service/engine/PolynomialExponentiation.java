@@ -0,0 +1,120 @@
+package labseq.service.engine;
+
+import java.math.BigInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * O(log n) evaluation of the LabSeq recurrence (Kitamasa's method).
+ *
+ * The recurrence has characteristic polynomial x^4 - x - 1, so x^n reduced modulo it gives
+ * coefficients c0..c3 with l(n) = c0*l(0) + c1*l(1) + c2*l(2) + c3*l(3). x^n is built by
+ * repeated squaring over the bits of n, which is equivalent to raising the 4x4 companion
+ * matrix to the n-th power but with 10 instead of 64 multiplications per step.
+ */
+public final class PolynomialExponentiation {
+
+    // x^0
+    private static final BigInteger[] ONE = {BigInteger.ONE, BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO};
+
+    private PolynomialExponentiation() {}
+
+    public static BigInteger value(int n) {
+        return valueOf(power(n));
+    }
+
+    /**
+     * Window of l(lastIndex - 3) .. l(lastIndex), from a single exponentiation.
+     */
+    public static LabSeqWindow window(int lastIndex) {
+        BigInteger[] c = power(lastIndex - 3);
+        BigInteger c2c3 = c[2].add(c[3]);
+        // Mesmos coeficientes aplicados às janelas l(j..j+3) com l(0..6) = 0, 1, 0, 1, 1, 1, 1
+        return new LabSeqWindow(lastIndex,
+            c[1].add(c[3]),
+            c[0].add(c2c3),
+            c[1].add(c2c3),
+            c[0].add(c[1]).add(c2c3));
+    }
+
+    /**
+     * Coefficients of x^n mod (x^4 - x - 1), lowest degree first.
+     */
+    public static BigInteger[] power(int n) {
+        return power(n, 0, null, null);
+    }
+
+    /**
+     * Continues x^n from x^prefix, where prefix is a leading-bit prefix of n (n >>> k == prefix
+     * for some k); prefixPower is ignored when prefix is 0. The listener sees every intermediate prefix, which is also the index l() has
+     * reached, and may throw to abandon the computation.
+     */
+    public static BigInteger[] power(int n, int prefix, BigInteger[] prefixPower, ProgressListener listener) {
+        return power(n, prefix, prefixPower, listener, PolynomialExponentiation::square);
+    }
+
+    // Mesmo ciclo com o quadrado fornecido por quem chama (ver ParallelExponentiation)
+    static BigInteger[] power(int n, int prefix, BigInteger[] prefixPower, ProgressListener listener,
+                              UnaryOperator<BigInteger[]> squarer) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Exponent must be non-negative: " + n);
+        }
+        int remainingBits = 32 - Integer.numberOfLeadingZeros(n) - (32 - Integer.numberOfLeadingZeros(prefix));
+        if (prefix < 0 || remainingBits < 0 || (n >>> remainingBits) != prefix) {
+            throw new IllegalArgumentException(prefix + " is not a bit prefix of " + n);
+        }
+        BigInteger[] poly = prefix == 0 ? ONE : prefixPower.clone();
+        for (int bit = remainingBits - 1; bit >= 0; bit--) {
+            poly = squarer.apply(poly);
+            if ((n & (1 << bit)) != 0) {
+                poly = multiplyByX(poly);
+            }
+            if (listener != null) {
+                listener.onPrefix(n >>> bit, poly);
+            }
+        }
+        return poly;
+    }
+
+    /**
+     * l(n) from the coefficients of x^n.
+     */
+    public static BigInteger valueOf(BigInteger[] power) {
+        // l(0..3) = 0, 1, 0, 1
+        return power[1].add(power[3]);
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        void onPrefix(int prefix, BigInteger[] prefixPower);
+    }
+
+    // p(x)^2 mod (x^4 - x - 1)
+    static BigInteger[] square(BigInteger[] p) {
+        BigInteger r0 = p[0].multiply(p[0]);
+        BigInteger r1 = p[0].multiply(p[1]).shiftLeft(1);
+        BigInteger r2 = p[0].multiply(p[2]).shiftLeft(1).add(p[1].multiply(p[1]));
+        BigInteger r3 = p[0].multiply(p[3]).add(p[1].multiply(p[2])).shiftLeft(1);
+        BigInteger r4 = p[1].multiply(p[3]).shiftLeft(1).add(p[2].multiply(p[2]));
+        BigInteger r5 = p[2].multiply(p[3]).shiftLeft(1);
+        BigInteger r6 = p[3].multiply(p[3]);
+
+        return reduce(r0, r1, r2, r3, r4, r5, r6);
+    }
+
+    // x^6 = x^3 + x^2, x^5 = x^2 + x, x^4 = x + 1
+    static BigInteger[] reduce(BigInteger r0, BigInteger r1, BigInteger r2, BigInteger r3,
+                               BigInteger r4, BigInteger r5, BigInteger r6) {
+        return new BigInteger[] {
+            r0.add(r4),
+            r1.add(r5).add(r4),
+            r2.add(r6).add(r5),
+            r3.add(r6)
+        };
+    }
+
+    // p(x) * x mod (x^4 - x - 1)
+    static BigInteger[] multiplyByX(BigInteger[] p) {
+        return new BigInteger[] {p[3], p[0].add(p[3]), p[1], p[2]};
+    }
+}
@@ -0,0 +1,56 @@
+package labseq.service.engine;
+
+import java.math.BigInteger;
+
+/**
+ * Walks the recurrence l(i) = l(i-4) + l(i-3) one index at a time from a seed window.
+ *
+ * Keeps only the last four values in a ring buffer, so memory stays O(1) in the number
+ * of steps. Not thread-safe: each walk belongs to the thread driving it.
+ */
+public final class SequenceWalker {
+
+    private final BigInteger[] ring = new BigInteger[4];
+    private int index;
+
+    public SequenceWalker(LabSeqWindow seed) {
+        for (int i = seed.getFirstIndex(); i <= seed.getLastIndex(); i++) {
+            ring[i & 3] = seed.get(i);
+        }
+        this.index = seed.getLastIndex();
+    }
+
+    public BigInteger advance() {
+        index++;
+        // l(i) = l(i-4) + l(i-3); l(i-4) ocupa a posição que vai ser reescrita
+        BigInteger current = ring[index & 3].add(ring[(index + 1) & 3]);
+        ring[index & 3] = current;
+        return current;
+    }
+
+    public BigInteger advanceTo(int target) {
+        while (index < target) {
+            advance();
+        }
+        return valueAt(target);
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public BigInteger value() {
+        return ring[index & 3];
+    }
+
+    public BigInteger valueAt(int n) {
+        if (n > index || n < index - 3) {
+            throw new IndexOutOfBoundsException("Index " + n + " outside walker window ending at " + index);
+        }
+        return ring[n & 3];
+    }
+
+    public LabSeqWindow window() {
+        return new LabSeqWindow(index, ring[(index - 3) & 3], ring[(index - 2) & 3], ring[(index - 1) & 3], ring[index & 3]);
+    }
+}
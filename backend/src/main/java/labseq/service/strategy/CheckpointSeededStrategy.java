@@ -0,0 +1,51 @@
+package labseq.service.strategy;
+
+import labseq.model.LabSeqResult;
+import labseq.service.InFlightWalks;
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.SequenceWalker;
+import labseq.store.CheckpointStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+
+@ApplicationScoped
+public class CheckpointSeededStrategy implements LabSeqStrategy {
+
+    public static final String NAME = "checkpoint-iterative";
+
+    @Inject
+    CheckpointStore checkpointStore;
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return checkpointStore.floorIndex(n) >= 0;
+    }
+
+    @Override
+    public double estimateCost(int n, CostModel costModel) {
+        int from = Math.max(checkpointStore.floorIndex(n), LabSeqWindow.BASE.getLastIndex());
+        return costModel.cacheLookup() + costModel.additions(from, n);
+    }
+
+    @Override
+    public LabSeqResult compute(int n) {
+        LabSeqWindow seed = checkpointStore.floor(n);
+        if (seed == null) {
+            seed = LabSeqWindow.BASE;
+        }
+        if (seed.contains(n)) {
+            return new LabSeqResult(seed.get(n), NAME, LabSeqResult.Source.CHECKPOINT, 0);
+        }
+        SequenceWalker walker = new SequenceWalker(seed);
+        return new LabSeqResult(inFlightWalks.walk(walker, n), NAME, LabSeqResult.Source.COMPUTED, n - seed.getLastIndex());
+    }
+}
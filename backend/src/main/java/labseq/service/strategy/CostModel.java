@@ -0,0 +1,123 @@
+package labseq.service.strategy;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Converts counts of big-number operations into nanoseconds.
+ *
+ * l(n) has about 0.4057 * n bits (log2 of the plastic number), which gives the operand sizes.
+ * Per-operation costs start from conservative defaults and are replaced by {@link #calibrate()}
+ * with timings taken on the running JVM.
+ */
+@ApplicationScoped
+public class CostModel {
+
+    private static final Logger LOG = Logger.getLogger(CostModel.class);
+
+    public static final double BITS_PER_INDEX = 0.40568;
+
+    // Limiares do BigInteger.multiply (em ints de 32 bits)
+    private static final double KARATSUBA_THRESHOLD = 80;
+    private static final double TOOM_COOK_THRESHOLD = 240;
+
+    private static final long WARMUP_NANOS = 50_000_000L;
+
+    private volatile double nanosPerAddWord = 0.5;
+    private volatile double nanosPerStep = 15;
+    private volatile double nanosPerMultiplyUnit = 0.5;
+    private volatile double nanosPerCacheLookup = 200;
+
+    // Impede o JIT de eliminar as operações medidas
+    private static volatile Object sink;
+
+    /**
+     * Cost of walking the recurrence from index {@code from} (exclusive) up to {@code to}.
+     */
+    public double additions(int from, int to) {
+        if (to <= from) {
+            return 0;
+        }
+        double steps = (double) to - from;
+        double words = BITS_PER_INDEX / 32 * ((double) to * to - (double) from * from) / 2;
+        return words * nanosPerAddWord + steps * nanosPerStep;
+    }
+
+    public double multiplication(double bits) {
+        return multiplyUnits(bits / 32) * nanosPerMultiplyUnit;
+    }
+
+    /**
+     * Cost of computing x^n mod the characteristic polynomial by repeated squaring.
+     */
+    public double exponentiation(int n) {
+        double cost = 0;
+        for (int prefix = n; prefix > 0; prefix >>>= 1) {
+            double bits = Math.max(32, prefix * BITS_PER_INDEX);
+            // 10 multiplicações e 9 somas por quadrado
+            cost += 10 * multiplication(bits) + 9 * (bits / 32) * nanosPerAddWord + 10 * nanosPerStep;
+        }
+        return cost;
+    }
+
+    public double cacheLookup() {
+        return nanosPerCacheLookup;
+    }
+
+    public void calibrate() {
+        Random random = new Random(42);
+
+        BigInteger a = new BigInteger(1 << 16, random);
+        BigInteger b = new BigInteger(1 << 16, random);
+        double words = (1 << 16) / 32.0;
+        double addNanos = timePerOperation(() -> a.add(b), 2000);
+        nanosPerAddWord = addNanos / words;
+
+        BigInteger small = BigInteger.valueOf(random.nextInt());
+        nanosPerStep = timePerOperation(() -> small.add(small), 20000);
+
+        BigInteger c = new BigInteger(1 << 18, random);
+        BigInteger d = new BigInteger(1 << 18, random);
+        double multiplyNanos = timePerOperation(() -> c.multiply(d), 20);
+        nanosPerMultiplyUnit = multiplyNanos / multiplyUnits((1 << 18) / 32.0);
+
+        LOG.infof("Cost model calibrated: add=%.3fns/word, step=%.1fns, multiply=%.4fns/unit",
+            nanosPerAddWord, nanosPerStep, nanosPerMultiplyUnit);
+    }
+
+    // Modelo do custo da multiplicação: escolar, Karatsuba e Toom-Cook 3 consoante o tamanho
+    private static double multiplyUnits(double words) {
+        if (words < KARATSUBA_THRESHOLD) {
+            return words * words;
+        }
+        double karatsubaBase = KARATSUBA_THRESHOLD * KARATSUBA_THRESHOLD;
+        if (words < TOOM_COOK_THRESHOLD) {
+            return karatsubaBase * Math.pow(words / KARATSUBA_THRESHOLD, 1.585);
+        }
+        double toomBase = karatsubaBase * Math.pow(TOOM_COOK_THRESHOLD / KARATSUBA_THRESHOLD, 1.585);
+        return toomBase * Math.pow(words / TOOM_COOK_THRESHOLD, 1.465);
+    }
+
+    private static double timePerOperation(Supplier<Object> operation, int iterations) {
+        // Aquecimento para o JIT antes de medir
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            for (int i = 0; i < iterations; i++) {
+                sink = operation.get();
+            }
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink = operation.get();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / iterations;
+    }
+}
@@ -0,0 +1,62 @@
+package labseq.service.strategy;
+
+import labseq.model.LabSeqResult;
+import labseq.service.InFlightWalks;
+import labseq.service.ParallelEngine;
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.PolynomialExponentiation;
+import labseq.service.engine.SequenceWalker;
+import labseq.store.CheckpointStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigInteger;
+
+
+@ApplicationScoped
+public class FastExponentiationStrategy implements LabSeqStrategy {
+
+    public static final String NAME = "fast-exponentiation";
+
+    @Inject
+    CheckpointStore checkpointStore;
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Inject
+    ParallelEngine parallelEngine;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return true;
+    }
+
+    @Override
+    public double estimateCost(int n, CostModel costModel) {
+        int checkpoint = checkpointStore.alignedIndex(n);
+        if (checkpoint < 0) {
+            return costModel.exponentiation(n);
+        }
+        return costModel.exponentiation(checkpoint) + costModel.additions(checkpoint, n);
+    }
+
+    @Override
+    public LabSeqResult compute(int n) {
+        int checkpoint = checkpointStore.alignedIndex(n);
+        if (checkpoint < 0) {
+            return new LabSeqResult(parallelEngine.value(n), NAME, LabSeqResult.Source.COMPUTED, 0);
+        }
+        // Salta direto para o checkpoint abaixo de n e guarda-o, para que pedidos
+        // vizinhos só precisem de caminhar no máximo um intervalo
+        LabSeqWindow window = PolynomialExponentiation.window(checkpoint);
+        checkpointStore.record(window);
+        BigInteger value = inFlightWalks.walk(new SequenceWalker(window), n);
+        return new LabSeqResult(value, NAME, LabSeqResult.Source.COMPUTED, n - checkpoint);
+    }
+}
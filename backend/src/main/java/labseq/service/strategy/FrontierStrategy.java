@@ -0,0 +1,62 @@
+package labseq.service.strategy;
+
+import labseq.model.LabSeqResult;
+import labseq.service.InFlightWalks;
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.SequenceWalker;
+import labseq.store.CheckpointStore;
+import labseq.store.Frontier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Serves indices inside the shared {@link Frontier} from it, and walks to higher indices from
+ * the frontier, publishing where the walk stopped as the new frontier.
+ */
+@ApplicationScoped
+public class FrontierStrategy implements LabSeqStrategy {
+
+    public static final String NAME = "frontier";
+
+    @Inject
+    Frontier frontier;
+
+    @Inject
+    CheckpointStore checkpointStore;
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= frontier.current().getFirstIndex();
+    }
+
+    @Override
+    public double estimateCost(int n, CostModel costModel) {
+        return costModel.cacheLookup() + costModel.additions(frontier.getLastIndex(), n);
+    }
+
+    @Override
+    public LabSeqResult compute(int n) {
+        LabSeqWindow seed = frontier.current();
+        if (seed.contains(n)) {
+            return new LabSeqResult(seed.get(n), NAME, LabSeqResult.Source.FRONTIER, 0);
+        }
+        if (seed.getLastIndex() > n) {
+            // A fronteira avançou para lá de n desde a escolha da estratégia
+            LabSeqWindow checkpoint = checkpointStore.floor(n);
+            seed = checkpoint != null ? checkpoint : LabSeqWindow.BASE;
+            if (seed.contains(n)) {
+                return new LabSeqResult(seed.get(n), NAME, LabSeqResult.Source.CHECKPOINT, 0);
+            }
+        }
+        SequenceWalker walker = new SequenceWalker(seed);
+        return new LabSeqResult(inFlightWalks.walk(walker, n), NAME, LabSeqResult.Source.COMPUTED, n - seed.getLastIndex());
+    }
+}
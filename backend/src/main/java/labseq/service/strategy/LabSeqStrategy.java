@@ -0,0 +1,28 @@
+package labseq.service.strategy;
+
+import labseq.model.LabSeqResult;
+
+/**
+ * A way of computing l(n). Implementations are CDI beans discovered by {@link LabSeqStrategySelector},
+ * which runs the supporting strategy with the lowest estimated cost.
+ */
+public interface LabSeqStrategy {
+
+    String name();
+
+    boolean supports(int n);
+
+    /**
+     * Estimated wall-clock cost of {@link #compute(int)} in nanoseconds.
+     */
+    double estimateCost(int n, CostModel costModel);
+
+    LabSeqResult compute(int n);
+
+    /**
+     * Whether the strategy keeps the values it computes, so caching them again would be redundant.
+     */
+    default boolean retainsResults() {
+        return false;
+    }
+}
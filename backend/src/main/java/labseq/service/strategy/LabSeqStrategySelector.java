@@ -0,0 +1,78 @@
+package labseq.service.strategy;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+
+
+@ApplicationScoped
+public class LabSeqStrategySelector {
+
+    private static final Logger LOG = Logger.getLogger(LabSeqStrategySelector.class);
+
+    @Inject
+    @Any
+    Instance<LabSeqStrategy> discovered;
+
+    @Inject
+    CostModel costModel;
+
+    @ConfigProperty(name = "labseq.strategy.calibrate", defaultValue = "true")
+    boolean calibrate;
+
+    private List<LabSeqStrategy> strategies;
+
+    @PostConstruct
+    void init() {
+        // Ordem estável para que empates escolham sempre a mesma estratégia
+        strategies = discovered.stream()
+            .sorted(Comparator.comparing(LabSeqStrategy::name))
+            .toList();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (calibrate) {
+            costModel.calibrate();
+        }
+        LOG.infof("Registered LabSeq strategies: %s", strategies.stream().map(LabSeqStrategy::name).toList());
+    }
+
+    public LabSeqStrategy select(int n) {
+        LabSeqStrategy cheapest = null;
+        double cheapestCost = Double.POSITIVE_INFINITY;
+        for (LabSeqStrategy strategy : strategies) {
+            if (!strategy.supports(n)) {
+                continue;
+            }
+            double cost = strategy.estimateCost(n, costModel);
+            if (cost < cheapestCost) {
+                cheapest = strategy;
+                cheapestCost = cost;
+            }
+        }
+        if (cheapest == null) {
+            throw new IllegalStateException("No LabSeq strategy supports n=" + n);
+        }
+        return cheapest;
+    }
+
+    public LabSeqStrategy byName(String name) {
+        return strategies.stream()
+            .filter(strategy -> strategy.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown LabSeq strategy: " + name));
+    }
+
+    public List<LabSeqStrategy> getStrategies() {
+        return strategies;
+    }
+}
@@ -0,0 +1,41 @@
+package labseq.service.strategy;
+
+import labseq.model.LabSeqResult;
+import labseq.service.InFlightWalks;
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.SequenceWalker;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigInteger;
+
+
+@ApplicationScoped
+public class LinearIterationStrategy implements LabSeqStrategy {
+
+    public static final String NAME = "iterative";
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return true;
+    }
+
+    @Override
+    public double estimateCost(int n, CostModel costModel) {
+        return costModel.additions(LabSeqWindow.BASE.getLastIndex(), n);
+    }
+
+    @Override
+    public LabSeqResult compute(int n) {
+        BigInteger value = inFlightWalks.walk(new SequenceWalker(LabSeqWindow.BASE), n);
+        return new LabSeqResult(value, NAME, LabSeqResult.Source.COMPUTED, n - LabSeqWindow.BASE.getLastIndex());
+    }
+}
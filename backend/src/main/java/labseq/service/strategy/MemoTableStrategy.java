@@ -0,0 +1,53 @@
+package labseq.service.strategy;
+
+import labseq.model.LabSeqResult;
+import labseq.store.MemoTable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigInteger;
+
+
+@ApplicationScoped
+public class MemoTableStrategy implements LabSeqStrategy {
+
+    public static final String NAME = "memo-table";
+
+    @Inject
+    MemoTable memoTable;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n <= memoTable.getMaxIndex();
+    }
+
+    @Override
+    public double estimateCost(int n, CostModel costModel) {
+        if (memoTable.contains(n)) {
+            return costModel.cacheLookup();
+        }
+        // Continua a partir do topo atual da tabela
+        return costModel.additions(memoTable.size() - 1, n);
+    }
+
+    @Override
+    public LabSeqResult compute(int n) {
+        BigInteger value = memoTable.get(n);
+        if (value != null) {
+            return new LabSeqResult(value, NAME, LabSeqResult.Source.MEMO_TABLE, 0);
+        }
+        // Aproximado se outro pedido estender a tabela ao mesmo tempo
+        int additions = n - memoTable.size() + 1;
+        return new LabSeqResult(memoTable.extendTo(n), NAME, LabSeqResult.Source.COMPUTED, Math.max(additions, 0));
+    }
+
+    @Override
+    public boolean retainsResults() {
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package labseq.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of cache entries, written on shutdown and loaded by the next warm-up.
+ *
+ * Layout: a 12-byte header (magic, version, entry count), then per entry
+ * {@code [int n][int length][magnitude bytes]}, and a trailing CRC32 of everything before it.
+ * Values are non-negative, so only the unsigned magnitude is stored. The file is written to a
+ * temporary name and moved into place, so a crash mid-write leaves the previous snapshot.
+ */
+public final class CacheSnapshot {
+
+    private static final int MAGIC = 0x4C53534E; // "LSSN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int CRC_SIZE = 4;
+
+    private CacheSnapshot() {}
+
+    public static void write(Path file, Map<Integer, BigInteger> entries) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Integer, BigInteger> entry : entries.entrySet()) {
+                byte[] magnitude = magnitude(entry.getValue());
+                out.writeInt(entry.getKey());
+                out.writeInt(magnitude.length);
+                out.write(magnitude);
+            }
+            // O próprio CRC não entra na soma: é calculado antes de ser escrito
+            out.writeInt((int) crc.getValue());
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Entries in the order they were written, or an IOException if the file is not a complete,
+     * intact snapshot.
+     */
+    public static Map<Integer, BigInteger> read(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        // Bytes ainda por ler antes do CRC: limita cada alocação ao que o ficheiro pode conter
+        long remaining = Files.size(file) - HEADER_SIZE - CRC_SIZE;
+        try (DataInputStream in = new DataInputStream(
+                new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)), crc))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a LabSeq cache snapshot: " + file);
+            }
+            int count = in.readInt();
+            if (count < 0 || count > remaining / ENTRY_HEADER_SIZE) {
+                throw new IOException("Corrupt snapshot " + file + ": invalid entry count " + count);
+            }
+            Map<Integer, BigInteger> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                int n = in.readInt();
+                int length = in.readInt();
+                remaining -= ENTRY_HEADER_SIZE;
+                // Um comprimento corrompido não pode levar a uma alocação maior do que o ficheiro
+                if (n < 0 || length < 0 || length > remaining) {
+                    throw new IOException("Corrupt snapshot " + file + " at entry " + i);
+                }
+                remaining -= length;
+                byte[] magnitude = new byte[length];
+                in.readFully(magnitude);
+                entries.put(n, new BigInteger(1, magnitude));
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("Snapshot " + file + " failed the integrity check");
+            }
+            return entries;
+        } catch (EOFException e) {
+            throw new IOException("Snapshot " + file + " is truncated", e);
+        }
+    }
+
+    // Sem o byte de sinal que o toByteArray acrescenta quando o bit mais alto está a 1
+    private static byte[] magnitude(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] trimmed = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
+            return trimmed;
+        }
+        return bytes;
+    }
+}
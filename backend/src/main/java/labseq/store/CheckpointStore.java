@@ -0,0 +1,292 @@
+package labseq.store;
+
+import labseq.service.engine.LabSeqWindow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Index of windows (four consecutive values) saved every {@code interval} indices, so a walk
+ * towards n can start from the nearest checkpoint at or below n instead of from index 3.
+ *
+ * When {@code labseq.checkpoint.path} is set, checkpoints are appended to a file and survive
+ * restarts. Layout: a 16-byte header (magic, version, interval, reserved) followed by records
+ * of {@code [int payloadLength][int crc32][payload]}, where the payload is the last index and
+ * the four values as length-prefixed two's-complement bytes. Appends are forced to disk before
+ * a record is indexed, so a crash can only leave a torn record at the tail; the integrity scan
+ * on open truncates the file back to the last record whose length and CRC check out.
+ */
+@ApplicationScoped
+public class CheckpointStore {
+
+    private static final Logger LOG = Logger.getLogger(CheckpointStore.class);
+
+    private static final int MAGIC = 0x4C53434B; // "LSCK"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    @ConfigProperty(name = "labseq.checkpoint.interval", defaultValue = "1000")
+    int interval;
+
+    // Limita a memória: janelas acima deste índice não são guardadas
+    @ConfigProperty(name = "labseq.checkpoint.max-index", defaultValue = "200000")
+    int maxIndex;
+
+    @ConfigProperty(name = "labseq.checkpoint.path")
+    Optional<String> path;
+
+    @ConfigProperty(name = "labseq.checkpoint.max-bytes", defaultValue = "1073741824")
+    long maxBytes;
+
+    private final ConcurrentNavigableMap<Integer, Slot> checkpoints = new ConcurrentSkipListMap<>();
+
+    private FileChannel channel;
+    private ExecutorService writer;
+    private long fileSize;
+
+    @PostConstruct
+    void open() {
+        if (path.isEmpty() || path.get().isBlank()) {
+            LOG.info("Checkpoint store running in memory only");
+            return;
+        }
+        Path file = Path.of(path.get());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() < HEADER_SIZE) {
+                writeHeader();
+            } else {
+                verifyAndIndex(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open checkpoint file " + file, e);
+        }
+        // Um único escritor mantém o ficheiro estritamente append-only
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "labseq-checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOG.infof("Checkpoint store opened at %s with %d checkpoints (%d bytes)", file, checkpoints.size(), fileSize);
+    }
+
+    @PreDestroy
+    void close() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOG.warnf(e, "Error closing checkpoint file");
+        }
+    }
+
+    public boolean isCheckpoint(int index) {
+        return index % interval == 0 && index <= maxIndex && !checkpoints.containsKey(index);
+    }
+
+    public void record(LabSeqWindow window) {
+        int index = window.getLastIndex();
+        if (index % interval != 0 || index > maxIndex) {
+            return;
+        }
+        if (checkpoints.putIfAbsent(index, new Slot(window, -1, 0)) == null && writer != null) {
+            writer.execute(() -> append(window));
+        }
+    }
+
+    /**
+     * Nearest stored window whose last index is at or below n, or null if none.
+     */
+    public LabSeqWindow floor(int n) {
+        Map.Entry<Integer, Slot> entry = checkpoints.floorEntry(n);
+        return entry != null ? load(entry.getValue()) : null;
+    }
+
+    /**
+     * Last index of the nearest checkpoint at or below n without reading it, or -1 if none.
+     */
+    public int floorIndex(int n) {
+        Integer index = checkpoints.floorKey(n);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Highest checkpoint position at or below n, whether or not it has been stored yet, or -1.
+     */
+    public int alignedIndex(int n) {
+        int aligned = n / interval * interval;
+        return aligned >= LabSeqWindow.BASE.getLastIndex() && aligned <= maxIndex ? aligned : -1;
+    }
+
+    public int size() {
+        return checkpoints.size();
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public boolean isPersistent() {
+        return channel != null;
+    }
+
+    private LabSeqWindow load(Slot slot) {
+        if (slot.window() != null) {
+            return slot.window();
+        }
+        // Leitura posicional para o heap: um map por leitura só seria libertado pelo GC e os
+        // mapeamentos acumulavam-se até ao vm.max_map_count
+        ByteBuffer buffer = ByteBuffer.allocate(slot.length());
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, slot.offset() + buffer.position()) < 0) {
+                    throw new EOFException("Checkpoint file ends before offset " + (slot.offset() + slot.length()));
+                }
+            }
+            return decode(buffer.flip());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read checkpoint at offset " + slot.offset(), e);
+        }
+    }
+
+    private void append(LabSeqWindow window) {
+        ByteBuffer payload = encode(window);
+        int length = payload.remaining();
+        if (fileSize + RECORD_HEADER_SIZE + length > maxBytes) {
+            // Fica só em memória; o ficheiro atingiu o limite configurado
+            return;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.putInt(length).putInt((int) crc.getValue()).put(payload).flip();
+        try {
+            long offset = fileSize;
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            channel.force(false);
+            fileSize = offset + RECORD_HEADER_SIZE + length;
+            // Depois de persistido, o valor sai do heap e passa a ser lido do ficheiro
+            checkpoints.put(window.getLastIndex(), new Slot(null, offset + RECORD_HEADER_SIZE, length));
+        } catch (IOException e) {
+            LOG.warnf(e, "Unable to persist checkpoint for index %d", window.getLastIndex());
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(interval).putInt(0).flip();
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+        fileSize = HEADER_SIZE;
+    }
+
+    private void verifyAndIndex(Path file) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            LOG.warnf("Checkpoint file %s has an unknown header, starting a new one", file);
+            writeHeader();
+            return;
+        }
+        int fileInterval = buffer.getInt();
+        if (fileInterval != interval) {
+            // As janelas continuam válidas, apenas ficam espaçadas de forma diferente
+            LOG.infof("Checkpoint file %s was written with interval %d (configured %d)", file, fileInterval, interval);
+        }
+        buffer.position(HEADER_SIZE);
+
+        long valid = HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            int index = payload.getInt(0);
+            long offset = valid + RECORD_HEADER_SIZE;
+            checkpoints.putIfAbsent(index, new Slot(null, offset, length));
+            buffer.position(buffer.position() + length);
+            valid = offset + length;
+        }
+
+        if (valid < size) {
+            LOG.warnf("Checkpoint file %s has %d trailing bytes that failed the integrity check, truncating",
+                file, size - valid);
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        fileSize = valid;
+    }
+
+    private static ByteBuffer encode(LabSeqWindow window) {
+        byte[][] values = new byte[4][];
+        int length = Integer.BYTES;
+        for (int i = 0; i < 4; i++) {
+            values[i] = window.get(window.getFirstIndex() + i).toByteArray();
+            length += Integer.BYTES + values[i].length;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.putInt(window.getLastIndex());
+        for (byte[] value : values) {
+            payload.putInt(value.length).put(value);
+        }
+        return payload.flip();
+    }
+
+    private static LabSeqWindow decode(ByteBuffer payload) {
+        int lastIndex = payload.getInt();
+        BigInteger[] values = new BigInteger[4];
+        for (int i = 0; i < 4; i++) {
+            byte[] bytes = new byte[payload.getInt()];
+            payload.get(bytes);
+            values[i] = new BigInteger(bytes);
+        }
+        return new LabSeqWindow(lastIndex, values);
+    }
+
+    // Ou a janela ainda em memória (à espera de ser escrita), ou a sua posição no ficheiro
+    private record Slot(LabSeqWindow window, long offset, int length) {}
+}
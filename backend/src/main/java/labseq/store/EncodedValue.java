@@ -0,0 +1,13 @@
+package labseq.store;
+
+/**
+ * The encoded value of l(n) in one representation, without any of the per-response fields
+ * around it.
+ *
+ * The payload is either the characters of the value as they go in the JSON string, or those
+ * characters as raw deflate blocks ending on a sync flush, so that a response can put its own
+ * fields before and after them in either gzip or zlib framing. length and the checksums are of
+ * the characters, which a compressed payload no longer holds.
+ */
+public record EncodedValue(byte[] payload, boolean compressed, int length, int crc32, int adler32, int bitLength) {
+}
@@ -0,0 +1,83 @@
+package labseq.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+
+/**
+ * Encoded values of large indices ({@link EncodedValue}), as characters and compressed, next to
+ * the values in {@link ValueCache}.
+ *
+ * A repeated request for the same index and format skips the radix conversion and the
+ * compression of the value; only the response fields around it are written again. Bounded by
+ * bytes, as a share of the maximum heap; when it is full, Caffeine's frequency-based admission
+ * keeps the values of the hot indices.
+ */
+@ApplicationScoped
+public class EncodedValueCache {
+
+    private static final Logger LOG = Logger.getLogger(EncodedValueCache.class);
+
+    // Chave, nó do Caffeine, registo e cabeçalho do byte[]
+    static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    @ConfigProperty(name = "labseq.cache.encoded-max-heap-share", defaultValue = "0.05")
+    double maxHeapShare;
+
+    @ConfigProperty(name = "labseq.cache.expire-after-write", defaultValue = "1H")
+    Duration expireAfterWrite;
+
+    private Cache<Key, EncodedValue> cache;
+    private long maxBytes;
+
+    @PostConstruct
+    void init() {
+        if (maxHeapShare <= 0 || maxHeapShare >= 1) {
+            throw new IllegalArgumentException("labseq.cache.encoded-max-heap-share must be between 0 and 1: " + maxHeapShare);
+        }
+        maxBytes = (long) (Runtime.getRuntime().maxMemory() * maxHeapShare);
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, EncodedValue value) -> ENTRY_OVERHEAD_BYTES + value.payload().length)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        LOG.infof("Encoded value cache limited to %d bytes (%.0f%% of max heap)", maxBytes, maxHeapShare * 100);
+    }
+
+    /**
+     * Stored encoding of l(n) in the given representation, compressed or not, or null.
+     */
+    public EncodedValue get(int n, String representation, boolean compressed) {
+        return cache.getIfPresent(new Key(n, representation, compressed));
+    }
+
+    public void put(int n, String representation, EncodedValue value) {
+        cache.put(new Key(n, representation, value.compressed()), value);
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getWeightedBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long getEntryCount() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private record Key(int n, String representation, boolean compressed) {
+    }
+}
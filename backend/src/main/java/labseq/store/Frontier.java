@@ -0,0 +1,94 @@
+package labseq.store;
+
+import labseq.service.engine.LabSeqWindow;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The four highest consecutive values computed so far, shared by every request.
+ *
+ * Indices inside the frontier are read from it, and walks towards higher indices continue
+ * from it instead of starting again at index 3. The frontier is an immutable
+ * {@link LabSeqWindow} published through an {@link AtomicReference}: readers take the current
+ * snapshot without locking, and a walk that got further replaces it with a compare-and-set,
+ * so the frontier only ever moves up. It holds a single window, and windows above
+ * {@code maxIndex} are not published, which bounds its memory to four values of that size.
+ */
+@ApplicationScoped
+public class Frontier {
+
+    // Limita a memória: quatro valores deste tamanho, no máximo
+    @ConfigProperty(name = "labseq.frontier.max-index", defaultValue = "1000000")
+    int maxIndex;
+
+    private final AtomicReference<LabSeqWindow> current = new AtomicReference<>(LabSeqWindow.BASE);
+    private final LongAdder advances = new LongAdder();
+
+    /**
+     * The current snapshot. It never changes; a newer frontier is a different window.
+     */
+    public LabSeqWindow current() {
+        return current.get();
+    }
+
+    /**
+     * l(n) if it is inside the frontier, or null.
+     */
+    public BigInteger get(int n) {
+        LabSeqWindow window = current.get();
+        return window.contains(n) ? window.get(n) : null;
+    }
+
+    /**
+     * The frontier if its last index is at or below n, so a walk towards n can start from it, or null.
+     */
+    public LabSeqWindow floor(int n) {
+        LabSeqWindow window = current.get();
+        return window.getLastIndex() <= n ? window : null;
+    }
+
+    /**
+     * Last index of the frontier if it is at or below n, or -1.
+     */
+    public int floorIndex(int n) {
+        int lastIndex = current.get().getLastIndex();
+        return lastIndex <= n ? lastIndex : -1;
+    }
+
+    /**
+     * Publishes window if it ends above the current frontier and within the limit.
+     * Returns whether the frontier moved.
+     */
+    public boolean offer(LabSeqWindow window) {
+        int lastIndex = window.getLastIndex();
+        if (lastIndex > maxIndex) {
+            return false;
+        }
+        LabSeqWindow seen = current.get();
+        while (seen.getLastIndex() < lastIndex) {
+            if (current.compareAndSet(seen, window)) {
+                advances.increment();
+                return true;
+            }
+            // Outra caminhada publicou entretanto; só substitui se esta continuar à frente
+            seen = current.get();
+        }
+        return false;
+    }
+
+    public int getLastIndex() {
+        return current.get().getLastIndex();
+    }
+
+    public int getMaxIndex() {
+        return maxIndex;
+    }
+
+    public long getAdvances() {
+        return advances.sum();
+    }
+}
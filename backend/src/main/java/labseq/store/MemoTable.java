@@ -0,0 +1,101 @@
+package labseq.store;
+
+import labseq.service.engine.LabSeqWindow;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Dense table of l(0) .. l(size - 1), filled bottom-up on demand.
+ *
+ * Values live in fixed-size chunks, so growing the table never copies existing values, only
+ * the small array of chunk references. A single writer extends the table under a lock and
+ * publishes each new value through the volatile size; readers check the size and then read
+ * the chunk without locking. Memory is bounded by {@code labseq.memo.max-index}: the table
+ * holds every value up to it, about 0.2 * maxIndex^2 bits in total.
+ */
+@ApplicationScoped
+public class MemoTable {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    @ConfigProperty(name = "labseq.memo.max-index", defaultValue = "10000")
+    int maxIndex;
+
+    private final Object writeLock = new Object();
+
+    // Escrito antes de size, lido depois de size
+    private volatile BigInteger[][] chunks;
+    private volatile int size;
+
+    public MemoTable() {
+        BigInteger[] first = new BigInteger[CHUNK_SIZE];
+        LabSeqWindow base = LabSeqWindow.BASE;
+        for (int i = 0; i <= base.getLastIndex(); i++) {
+            first[i] = base.get(i);
+        }
+        chunks = new BigInteger[][] {first};
+        size = base.getLastIndex() + 1;
+    }
+
+    /**
+     * l(n) if the table already holds it, or null. Never blocks.
+     */
+    public BigInteger get(int n) {
+        if (n < 0 || n >= size) {
+            return null;
+        }
+        return chunks[n >>> CHUNK_BITS][n & CHUNK_MASK];
+    }
+
+    /**
+     * l(n), extending the table up to n first if needed.
+     */
+    public BigInteger extendTo(int n) {
+        if (n > maxIndex) {
+            throw new IllegalArgumentException("Index " + n + " exceeds the memo table limit " + maxIndex);
+        }
+        BigInteger value = get(n);
+        if (value != null) {
+            return value;
+        }
+        synchronized (writeLock) {
+            BigInteger[][] table = chunks;
+            int next = size;
+            while (next <= n) {
+                int chunk = next >>> CHUNK_BITS;
+                if (chunk == table.length) {
+                    table = Arrays.copyOf(table, table.length * 2);
+                }
+                if (table[chunk] == null) {
+                    table[chunk] = new BigInteger[CHUNK_SIZE];
+                    chunks = table;
+                }
+                // l(n) = l(n-4) + l(n-3)
+                table[chunk][next & CHUNK_MASK] = at(table, next - 4).add(at(table, next - 3));
+                size = ++next;
+            }
+            return at(table, n);
+        }
+    }
+
+    public boolean contains(int n) {
+        return n >= 0 && n < size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getMaxIndex() {
+        return maxIndex;
+    }
+
+    private static BigInteger at(BigInteger[][] table, int n) {
+        return table[n >>> CHUNK_BITS][n & CHUNK_MASK];
+    }
+}
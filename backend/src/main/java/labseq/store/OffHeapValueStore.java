@@ -0,0 +1,176 @@
+package labseq.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Off-heap tier of the value cache for large values, kept as their big-endian two's-complement
+ * bytes in direct buffers.
+ *
+ * A value of millions of digits on the heap is a humongous int[] for G1; here it is a few
+ * objects pointing at native memory, bounded by {@code maxBytes}. Values are read back either
+ * as a BigInteger (a copy) or as a {@link #lease} of the buffer itself, which can be written
+ * to a response without touching the heap.
+ *
+ * Buffers are reference counted: the store holds one reference and releases it on eviction,
+ * which frees the memory at once; a lease holds another until its holder releases it, so an
+ * eviction never frees memory that is still being read.
+ */
+public final class OffHeapValueStore {
+
+    // Objetos do ByteBuf e do ByteBuffer, chave Integer e nó do Caffeine
+    static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    // Direto e com Cleaner: um buffer que escape sem release ainda é libertado pelo GC
+    private static final ByteBufAllocator ALLOCATOR = new UnpooledByteBufAllocator(true, false, false);
+
+    private final Cache<Integer, ByteBuf> cache;
+    private final long maxBytes;
+    private final int minBytes;
+
+    public OffHeapValueStore(long maxBytes, int minBytes, Duration expireAfterWrite) {
+        this.maxBytes = maxBytes;
+        this.minBytes = minBytes;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Integer n, ByteBuf bytes) -> weigh(bytes))
+            .expireAfterWrite(expireAfterWrite)
+            .removalListener((Integer n, ByteBuf bytes, RemovalCause cause) -> {
+                if (bytes != null) {
+                    bytes.release();
+                }
+            })
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Whether value is large enough to be kept here rather than on the heap.
+     */
+    public boolean accepts(BigInteger value) {
+        return value.bitLength() / 8 >= minBytes && value.bitLength() / 8 < maxBytes;
+    }
+
+    public void put(int n, BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        ByteBuf buffer = ALLOCATOR.directBuffer(bytes.length, bytes.length);
+        buffer.writeBytes(bytes);
+        cache.put(n, buffer);
+    }
+
+    /**
+     * l(n) read back onto the heap, or null.
+     */
+    public BigInteger get(int n) {
+        ByteBuf lease = lease(n);
+        if (lease == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = new byte[lease.readableBytes()];
+            lease.getBytes(lease.readerIndex(), bytes);
+            return new BigInteger(bytes);
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * A read-only view of the bytes of l(n) that stays valid until released, or null.
+     * The caller must release it exactly once.
+     */
+    public ByteBuf lease(int n) {
+        ByteBuf buffer = cache.getIfPresent(n);
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            buffer.retain();
+        } catch (IllegalReferenceCountException e) {
+            // Removido e libertado entre a leitura e o retain: conta como ausente
+            return null;
+        }
+        return buffer.asReadOnly().slice();
+    }
+
+    /**
+     * Records a read of l(n), in the statistics and the eviction order, without copying it out.
+     * Returns whether it is stored.
+     */
+    public boolean touch(int n) {
+        return cache.getIfPresent(n) != null;
+    }
+
+    /**
+     * Whether l(n) is stored, without touching the statistics or the eviction order.
+     */
+    public boolean contains(int n) {
+        return cache.asMap().containsKey(n);
+    }
+
+    /**
+     * Up to limit values, most frequently used first, read back onto the heap.
+     */
+    public Map<Integer, BigInteger> hottest(int limit) {
+        Map<Integer, BigInteger> values = new LinkedHashMap<>();
+        cache.policy().eviction().ifPresent(eviction -> eviction.hottest(limit).keySet().forEach(n -> {
+            BigInteger value = get(n);
+            if (value != null) {
+                values.put(n, value);
+            }
+        }));
+        return values;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getUsedBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long getEntryCount() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /**
+     * Bit length of the value held in bytes, without reading it back.
+     */
+    public static int bitLength(ByteBuf bytes) {
+        int index = bytes.readerIndex();
+        int end = bytes.writerIndex();
+        // Salta os zeros iniciais (o byte de sinal de um valor positivo)
+        while (index < end && bytes.getByte(index) == 0) {
+            index++;
+        }
+        if (index == end) {
+            return 0;
+        }
+        return (end - index - 1) * 8 + (32 - Integer.numberOfLeadingZeros(bytes.getByte(index) & 0xFF));
+    }
+
+    private static int weigh(ByteBuf bytes) {
+        long weight = ENTRY_OVERHEAD_BYTES + (long) bytes.capacity();
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,173 @@
+package labseq.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-heap cache of computed values ("labseq-cache"), bounded by bytes rather than by entries.
+ *
+ * Each entry weighs roughly what it holds on the heap: the magnitude of the BigInteger plus a
+ * fixed per-entry overhead, so one value with a million digits counts as much as thousands of
+ * small ones. The budget is a share of the maximum heap.
+ *
+ * Values of at least {@code labseq.cache.off-heap.min-bytes} go to an {@link OffHeapValueStore}
+ * instead, with its own budget ({@code labseq.cache.off-heap.max-bytes}, 0 to keep everything
+ * on the heap), so the heap only holds small values. The most used of those are also kept
+ * rehydrated on the heap, up to {@code labseq.cache.off-heap.rehydrated-max-bytes}, so repeated
+ * reads do not rebuild the BigInteger from native memory every time.
+ */
+@ApplicationScoped
+public class ValueCache {
+
+    private static final Logger LOG = Logger.getLogger(ValueCache.class);
+
+    // Cabeçalhos do BigInteger e do int[], chave Integer e nó do Caffeine
+    static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    @ConfigProperty(name = "labseq.cache.max-heap-share", defaultValue = "0.1")
+    double maxHeapShare;
+
+    @ConfigProperty(name = "labseq.cache.expire-after-write", defaultValue = "1H")
+    Duration expireAfterWrite;
+
+    @ConfigProperty(name = "labseq.cache.off-heap.max-bytes", defaultValue = "268435456")
+    long offHeapMaxBytes;
+
+    @ConfigProperty(name = "labseq.cache.off-heap.min-bytes", defaultValue = "65536")
+    int offHeapMinBytes;
+
+    @ConfigProperty(name = "labseq.cache.off-heap.rehydrated-max-bytes", defaultValue = "16777216")
+    long rehydratedMaxBytes;
+
+    private Cache<Integer, BigInteger> cache;
+    private long maxBytes;
+    private OffHeapValueStore offHeap;
+    private Cache<Integer, BigInteger> rehydrated;
+
+    @PostConstruct
+    void init() {
+        if (maxHeapShare <= 0 || maxHeapShare >= 1) {
+            throw new IllegalArgumentException("labseq.cache.max-heap-share must be between 0 and 1: " + maxHeapShare);
+        }
+        maxBytes = (long) (Runtime.getRuntime().maxMemory() * maxHeapShare);
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Integer n, BigInteger value) -> weigh(value))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        LOG.infof("Value cache limited to %d bytes (%.0f%% of max heap)", maxBytes, maxHeapShare * 100);
+        if (offHeapMaxBytes > 0) {
+            offHeap = new OffHeapValueStore(offHeapMaxBytes, offHeapMinBytes, expireAfterWrite);
+            LOG.infof("Values of %d bytes and more kept off-heap, up to %d bytes", offHeapMinBytes, offHeapMaxBytes);
+            if (rehydratedMaxBytes > 0) {
+                rehydrated = Caffeine.newBuilder()
+                    .maximumWeight(rehydratedMaxBytes)
+                    .weigher((Integer n, BigInteger value) -> weigh(value))
+                    .expireAfterWrite(expireAfterWrite)
+                    .build();
+            }
+        }
+    }
+
+    /**
+     * Cached value of l(n), or null; counts as a hit or a miss.
+     */
+    public BigInteger get(int n) {
+        // O teste de presença não conta nas estatísticas; só uma das camadas regista o acesso
+        if (offHeap != null && offHeap.contains(n)) {
+            BigInteger value = rehydrated != null ? rehydrated.getIfPresent(n) : null;
+            if (value != null) {
+                // A cópia no heap responde; o acesso conta na camada fora do heap, que decide o que fica
+                offHeap.touch(n);
+                return value;
+            }
+            value = offHeap.get(n);
+            if (value != null) {
+                if (rehydrated != null) {
+                    rehydrated.put(n, value);
+                }
+                return value;
+            }
+        }
+        return cache.getIfPresent(n);
+    }
+
+    /**
+     * Whether l(n) is cached, without touching the statistics or the eviction order.
+     */
+    public boolean contains(int n) {
+        return cache.asMap().containsKey(n) || (offHeap != null && offHeap.contains(n));
+    }
+
+    public void put(int n, BigInteger value) {
+        if (offHeap != null && offHeap.accepts(value)) {
+            offHeap.put(n, value);
+        } else {
+            cache.put(n, value);
+        }
+    }
+
+    /**
+     * The off-heap tier, if enabled.
+     */
+    public Optional<OffHeapValueStore> getOffHeap() {
+        return Optional.ofNullable(offHeap);
+    }
+
+    /**
+     * Up to limit entries, most frequently used first: the heap tier, then the off-heap one.
+     */
+    public Map<Integer, BigInteger> hottest(int limit) {
+        Map<Integer, BigInteger> hottest = new LinkedHashMap<>(cache.policy().eviction()
+            .map(eviction -> eviction.hottest(limit))
+            .orElseGet(Map::of));
+        if (offHeap != null && hottest.size() < limit) {
+            hottest.putAll(offHeap.hottest(limit - hottest.size()));
+        }
+        return hottest;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getWeightedBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long getEntryCount() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    // As remoções são assíncronas; os testes forçam-nas aqui
+    void cleanUp() {
+        cache.cleanUp();
+        if (offHeap != null) {
+            offHeap.cleanUp();
+        }
+        if (rehydrated != null) {
+            rehydrated.cleanUp();
+        }
+    }
+
+    static int weigh(BigInteger value) {
+        long bytes = ENTRY_OVERHEAD_BYTES + (long) value.bitLength() / 8;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,46 @@
+package labseq;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Points the files the application keeps between restarts at a fresh temporary directory for
+ * each test run, deleted when the application stops, so no run sees what an earlier one left.
+ */
+@QuarkusTestResource(TempDataDirectory.class)
+public class TempDataDirectory implements QuarkusTestResourceLifecycleManager {
+
+    private Path directory;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            directory = Files.createTempDirectory("labseq-test-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Map.of(
+            "labseq.checkpoint.path", directory.resolve("labseq-checkpoints.bin").toString(),
+            "labseq.jobs.dir", directory.resolve("jobs").toString());
+    }
+
+    @Override
+    public void stop() {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package labseq.resource;
+
+import labseq.service.cluster.ClusterRouter;
+import labseq.service.cluster.HashRing;
+import labseq.service.engine.PolynomialExponentiation;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+
+/**
+ * Cluster of three nodes on one instance: itself, itself again under another host name
+ * (a real remote node as far as the router knows) and a port nobody listens on.
+ */
+@QuarkusTest
+@TestProfile(ClusterModeTest.ClusterProfile.class)
+@DisplayName("Cluster Mode Tests")
+class ClusterModeTest {
+
+    private static final String SELF = "http://localhost:8081";
+    private static final String PEER = "http://127.0.0.1:8081";
+    private static final String DEAD = "http://127.0.0.1:1";
+
+    private static final HashRing RING = new HashRing(List.of(SELF, PEER, DEAD), 1000, 128);
+
+    public static class ClusterProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "labseq.cluster.enabled", "true",
+                "labseq.cluster.self", SELF,
+                "labseq.cluster.nodes", PEER + "," + DEAD,
+                "labseq.cluster.min-forward-cost", "0",
+                "labseq.cluster.connect-timeout", "200MS");
+        }
+    }
+
+    @Test
+    @DisplayName("Indices owned by another node should be served by that node")
+    void testForwardedToOwner() {
+        int n = ownedBy(PEER);
+
+        given()
+            .when().get("/labseq/" + n)
+            .then()
+                .statusCode(200)
+                .header(ClusterRouter.SERVED_BY_HEADER, equalTo(PEER))
+                .body("n", equalTo(n))
+                .body("value", equalTo(PolynomialExponentiation.value(n).toString()));
+    }
+
+    @Test
+    @DisplayName("Indices owned by an unreachable node should be computed locally")
+    void testFallbackWhenOwnerDown() {
+        int n = ownedBy(DEAD);
+
+        given()
+            .when().get("/labseq/" + n)
+            .then()
+                .statusCode(200)
+                .header(ClusterRouter.SERVED_BY_HEADER, nullValue())
+                .body("value", equalTo(PolynomialExponentiation.value(n).toString()));
+
+        given()
+            .when().get("/labseq/stats")
+            .then()
+                .statusCode(200)
+                .body("cluster.nodes.size()", equalTo(3))
+                .body("cluster.fallbacks", not(equalTo(0)));
+    }
+
+    @Test
+    @DisplayName("Forwarded requests should be answered locally, never forwarded again")
+    void testNoForwardingLoop() {
+        int n = ownedBy(PEER);
+
+        given()
+            .header(ClusterRouter.FORWARDED_HEADER, SELF)
+            .when().get("/labseq/" + n)
+            .then()
+                .statusCode(200)
+                .header(ClusterRouter.SERVED_BY_HEADER, nullValue());
+    }
+
+    // Acima do aquecimento do perfil de teste, para que o valor não venha já da cache
+    private static int ownedBy(String node) {
+        for (int n = 100_000; ; n += 1000) {
+            if (RING.owner(n).equals(node)) {
+                return n;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package labseq.resource;
+
+import labseq.service.engine.PolynomialExponentiation;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@DisplayName("Health Check Tests")
+class HealthCheckTest {
+
+    @Test
+    @DisplayName("Readiness should report UP once the warm-up range has been computed")
+    void testReadyAfterWarmup() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (given().when().get("/q/health/ready").statusCode() == 200) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        given()
+            .when().get("/q/health/ready")
+            .then()
+                .statusCode(200)
+                .body("checks.find { it.name == 'labseq-warmup' }.status", equalTo("UP"))
+                .body("checks.find { it.name == 'labseq-warmup' }.data.computed", equalTo(2001))
+                // Só entram no cache os valores que custaria recalcular (labseq.cache.min-recompute-cost)
+                .body("checks.find { it.name == 'labseq-warmup' }.data.cached", lessThanOrEqualTo(2001));
+
+        given()
+            .when().get("/labseq/2500")
+            .then()
+                .statusCode(200)
+                .body("value", equalTo(PolynomialExponentiation.value(2500).toString()));
+    }
+
+    @Test
+    @DisplayName("Liveness should report the compute pool as UP")
+    void testLiveness() {
+        given()
+            .when().get("/q/health/live")
+            .then()
+                .statusCode(200)
+                .body("checks.find { it.name == 'labseq-compute-pool' }.status", equalTo("UP"));
+    }
+
+    @Test
+    @DisplayName("Readiness should include compute, cache and warm-up state")
+    void testReadinessReportsComputeState() {
+        given()
+            .when().get("/q/health")
+            .then()
+                .body("checks.find { it.name == 'labseq-compute' }.data.state", equalTo("ok"))
+                .body("checks.find { it.name == 'labseq-compute' }.data.maxQueueDepth", equalTo(48))
+                .body("checks.find { it.name == 'labseq-compute' }.data", hasKey("cacheWeightedBytes"))
+                .body("checks.find { it.name == 'labseq-compute' }.data", hasKey("warmupDone"));
+    }
+
+    @Test
+    @DisplayName("Queue depth or queue wait over the limits should mark the pod saturated, over the ratio degraded")
+    void testSaturationThresholds() {
+        long second = 1_000_000_000L;
+        assertEquals("ok", ComputeReadinessCheck.state(3, 48, second, 5 * second, 0.5));
+        assertEquals("degraded", ComputeReadinessCheck.state(24, 48, second, 5 * second, 0.5));
+        assertEquals("degraded", ComputeReadinessCheck.state(0, 48, 3 * second, 5 * second, 0.5));
+        assertEquals("saturated", ComputeReadinessCheck.state(48, 48, 0, 5 * second, 0.5));
+        assertEquals("saturated", ComputeReadinessCheck.state(0, 48, 5 * second, 5 * second, 0.5));
+    }
+}
@@ -0,0 +1,57 @@
+package labseq.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@DisplayName("LabSeq Admin Resource Tests")
+class LabSeqAdminResourceTest {
+
+    @AfterEach
+    void restore() {
+        given().when().put("/labseq/admin/access-log?enabled=true&sampleRate=1.0").then().statusCode(200);
+    }
+
+    @Test
+    @DisplayName("The access log should be switched off and sampled at runtime")
+    void testToggleAccessLog() {
+        given()
+            .when().put("/labseq/admin/access-log?enabled=false&sampleRate=0.25")
+            .then()
+                .statusCode(200)
+                .body("enabled", is(false))
+                .body("sampleRate", equalTo(0.25f));
+
+        long before = recorded();
+        given().when().get("/labseq/20").then().statusCode(200);
+        assertEquals(before, recorded());
+    }
+
+    // Registos aceites até agora, estejam ainda na fila ou já escritos
+    private static long recorded() {
+        Map<String, Object> settings = given().when().get("/labseq/admin/access-log").then()
+            .statusCode(200)
+            .extract().jsonPath().getMap("$");
+        return ((Number) settings.get("queued")).longValue()
+            + ((Number) settings.get("written")).longValue()
+            + ((Number) settings.get("dropped")).longValue();
+    }
+
+    @Test
+    @DisplayName("A sample rate outside [0, 1] should be rejected")
+    void testRejectsInvalidSampleRate() {
+        given()
+            .when().put("/labseq/admin/access-log?sampleRate=1.5")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Sample Rate"));
+    }
+}
@@ -0,0 +1,147 @@
+package labseq.resource;
+
+import labseq.service.engine.PolynomialExponentiation;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@DisplayName("LabSeq Job Resource Tests")
+class LabSeqJobResourceTest {
+
+    @Test
+    @DisplayName("A submitted job should complete and serve its result")
+    void testJobCompletesAndServesResult() throws InterruptedException {
+        int n = 60000;
+        String id = submit(n);
+
+        String state = awaitState(id, "COMPLETED");
+        assertEquals("COMPLETED", state);
+
+        given()
+            .when().get("/labseq/jobs/" + id)
+            .then()
+                .statusCode(200)
+                .body("progressIndex", equalTo(n))
+                .body("digits", equalTo(PolynomialExponentiation.value(n).toString().length()));
+
+        String value = given()
+            .when().get("/labseq/jobs/" + id + "/result")
+            .then()
+                .statusCode(200)
+                .extract().asString();
+        assertEquals(PolynomialExponentiation.value(n).toString(), value);
+    }
+
+    @Test
+    @DisplayName("A running job should be cancellable")
+    void testJobCanBeCancelled() throws InterruptedException {
+        String id = submit(1_500_000_000);
+
+        given()
+            .when().delete("/labseq/jobs/" + id)
+            .then()
+                .statusCode(200)
+                .body("id", equalTo(id));
+
+        assertEquals("CANCELLED", awaitState(id, "CANCELLED"));
+
+        given()
+            .when().get("/labseq/jobs/" + id + "/result")
+            .then()
+                .statusCode(409)
+                .body("error", equalTo("Job Not Completed"));
+    }
+
+    @Test
+    @DisplayName("A job cancelled while queued should never run")
+    void testQueuedJobCancelledBeforeStart() throws InterruptedException {
+        // Ocupa o único executor, para que o segundo fique na fila
+        String running = submit(1_500_000_000);
+        String queued = submit(60000);
+
+        given()
+            .when().delete("/labseq/jobs/" + queued)
+            .then()
+                .statusCode(200)
+                .body("state", equalTo("CANCELLED"));
+
+        given().when().delete("/labseq/jobs/" + running).then().statusCode(200);
+        assertEquals("CANCELLED", awaitState(running, "CANCELLED"));
+
+        // Tempo de sobra para o executor chegar ao trabalho da fila, que tem de continuar cancelado
+        Thread.sleep(1000);
+        given()
+            .when().get("/labseq/jobs/" + queued)
+            .then()
+                .statusCode(200)
+                .body("state", equalTo("CANCELLED"))
+                .body("progressIndex", equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Unknown jobs should return 404")
+    void testUnknownJob() {
+        given()
+            .when().get("/labseq/jobs/does-not-exist")
+            .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Submitting a negative index should return 400")
+    void testSubmitNegativeIndex() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("{\"n\":-1}")
+            .when().post("/labseq/jobs")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"));
+    }
+
+    @Test
+    @DisplayName("Submitting without a body or without n should return 400")
+    void testSubmitMissingIndex() {
+        given()
+            .contentType(ContentType.JSON)
+            .when().post("/labseq/jobs")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("{}")
+            .when().post("/labseq/jobs")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"));
+    }
+
+    private static String submit(int n) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body("{\"n\":" + n + "}")
+            .when().post("/labseq/jobs")
+            .then()
+                .statusCode(202)
+                .header("Location", containsString("/labseq/jobs/"))
+                .body("n", equalTo(n))
+                .extract().path("id");
+    }
+
+    private static String awaitState(String id, String expected) throws InterruptedException {
+        String state = null;
+        for (int attempt = 0; attempt < 200 && !expected.equals(state); attempt++) {
+            Thread.sleep(50);
+            state = given().when().get("/labseq/jobs/" + id).then().extract().path("state");
+        }
+        return state;
+    }
+}
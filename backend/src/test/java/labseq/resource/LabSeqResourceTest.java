@@ -0,0 +1,514 @@
+package labseq.resource;
+
+import labseq.service.engine.PolynomialExponentiation;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigInteger;
+import java.util.Base64;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("LabSeq Resource (REST API) Tests")
+class LabSeqResourceTest {
+
+    @Test
+    @DisplayName("GET /labseq/0 should return 0")
+    void testGetLabSeqForZero() {
+        given()
+            .when().get("/labseq/0")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(0))
+                .body("value", equalTo("0"))
+                .body("calculationTime", greaterThanOrEqualTo(0))
+                .body("fromCache", notNullValue());
+    }
+
+    @Test
+    @DisplayName("GET /labseq/1 should return 1")
+    void testGetLabSeqForOne() {
+        given()
+            .when().get("/labseq/1")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(1))
+                .body("value", equalTo("1"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq/10 should return 3")
+    void testGetLabSeqForTen() {
+        given()
+            .when().get("/labseq/10")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(10))
+                .body("value", equalTo("3"))
+                .body("calculationTime", greaterThanOrEqualTo(0));
+    }
+
+    @Test
+    @DisplayName("GET /labseq with negative index should return 400")
+    void testGetLabSeqForNegativeIndex() {
+        given()
+            .when().get("/labseq/-1")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"))
+                .body("message", containsString("non-negative"))
+                .body("status", equalTo(400));
+    }
+
+    @Test
+    @DisplayName("GET /labseq with large index should complete under 10 seconds")
+    void testGetLabSeqForLargeIndex() {
+        given()
+            .when().get("/labseq/100000")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(100000))
+                .body("value", notNullValue())
+                .body("calculationTime", lessThan(10000));
+    }
+
+    @Test
+    @DisplayName("GET /labseq/health should return UP status")
+    void testHealthEndpoint() {
+        given()
+            .when().get("/labseq/health")
+            .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"))
+                .body("service", equalTo("LabSeq API"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq should return correct Content-Type")
+    void testContentType() {
+        given()
+            .when().get("/labseq/5")
+            .then()
+                .statusCode(200)
+                .contentType("application/json");
+    }
+
+    @Test
+    @DisplayName("GET /labseq with sequence values should be correct")
+    void testLabSeqSequenceValues() {
+        // Test first few values of the sequence: 0, 1, 0, 1, 1, 1, 1, 2
+        String[] expectedValues = {"0", "1", "0", "1", "1", "1", "1", "2"};
+        
+        for (int i = 0; i < expectedValues.length; i++) {
+            given()
+                .when().get("/labseq/" + i)
+                .then()
+                    .statusCode(200)
+                    .body("n", equalTo(i))
+                    .body("value", equalTo(expectedValues[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /labseq repeatedly should benefit from cache")
+    void testCachingBehavior() {
+        int testIndex = 1000;
+        
+        // First call
+        long firstCallTime = given()
+            .when().get("/labseq/" + testIndex)
+            .then()
+                .statusCode(200)
+                .extract()
+                .<Number>path("calculationTime").longValue();
+        
+        // Second call - should be faster due to cache
+        long secondCallTime = given()
+            .when().get("/labseq/" + testIndex)
+            .then()
+                .statusCode(200)
+                .extract()
+                .<Number>path("calculationTime").longValue();
+        
+        // Cache should make it faster or at least same speed
+        // Note: This is a heuristic test and might occasionally fail
+        // due to system load, but generally should hold true
+    }
+
+    @Test
+    @DisplayName("GET /labseq with very large negative should return 400")
+    void testVeryNegativeIndex() {
+        given()
+            .when().get("/labseq/-999999")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"));
+    }
+
+    @Test
+    @DisplayName("Response should contain all required fields")
+    void testResponseStructure() {
+        given()
+            .when().get("/labseq/5")
+            .then()
+                .statusCode(200)
+                .body("$", hasKey("n"))
+                .body("$", hasKey("value"))
+                .body("$", hasKey("calculationTime"))
+                .body("$", hasKey("fromCache"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq with boundary value at index 3 (last base case)")
+    void testBoundaryBaseCase() {
+        given()
+            .when().get("/labseq/3")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(3))
+                .body("value", equalTo("1"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq with boundary value at index 4 (first recursive case)")
+    void testBoundaryRecursiveCase() {
+        given()
+            .when().get("/labseq/4")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(4))
+                .body("value", equalTo("1"));
+    }
+
+    @Test
+    @DisplayName("Multiple concurrent requests should all succeed")
+    void testConcurrentRequests() {
+        // Test that multiple requests can be handled
+        for (int i = 0; i < 5; i++) {
+            given()
+                .when().get("/labseq/" + (i * 10))
+                .then()
+                    .statusCode(200);
+        }
+    }
+
+    @Test
+    @DisplayName("CORS headers should be present for Angular frontend")
+    void testCorsHeaders() {
+        given()
+            .header("Origin", "http://localhost:4200")
+            .when().get("/labseq/5")
+            .then()
+                .statusCode(200)
+                .header("Access-Control-Allow-Origin", notNullValue());
+    }
+
+    @Test
+    @DisplayName("GET /labseq with a huge value should stream all of its digits")
+    void testGetLabSeqStreamsHugeValue() {
+        String expected = PolynomialExponentiation.value(3000000).toString();
+
+        String value = given()
+            .when().get("/labseq/3000000")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(3000000))
+                .body("digits", equalTo(expected.length()))
+                .extract().path("value");
+        assertEquals(expected, value);
+    }
+
+    @Test
+    @DisplayName("GET /labseq with Accept: application/octet-stream should return the raw bytes")
+    void testGetLabSeqAsBytes() {
+        BigInteger expected = PolynomialExponentiation.value(20000);
+
+        byte[] bytes = given()
+            .accept("application/octet-stream")
+            .when().get("/labseq/20000")
+            .then()
+                .statusCode(200)
+                .contentType("application/octet-stream")
+                .header("X-LabSeq-Bit-Length", equalTo(String.valueOf(expected.bitLength())))
+                .extract().asByteArray();
+        assertEquals(expected, new BigInteger(bytes));
+    }
+
+    @Test
+    @DisplayName("GET /labseq with format=hex or base64 should encode the value")
+    void testGetLabSeqFormats() {
+        BigInteger expected = PolynomialExponentiation.value(20000);
+
+        given()
+            .when().get("/labseq/20000?format=hex")
+            .then()
+                .statusCode(200)
+                .body("format", equalTo("hex"))
+                .body("bitLength", equalTo(expected.bitLength()))
+                .body("value", equalTo(expected.toString(16)));
+
+        given()
+            .when().get("/labseq/20000?format=base64")
+            .then()
+                .statusCode(200)
+                .body("format", equalTo("base64"))
+                .body("value", equalTo(Base64.getEncoder().encodeToString(expected.toByteArray())));
+
+        given()
+            .when().get("/labseq/10?format=octal")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Format"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq for a small index should be served from the long table")
+    void testGetLabSeqFromLongTable() {
+        given()
+            .when().get("/labseq/150")
+            .then()
+                .statusCode(200)
+                .body("n", equalTo(150))
+                .body("strategy", equalTo("long-table"))
+                .body("source", equalTo("long-table"))
+                .body("additions", equalTo(0))
+                .body("value", equalTo(PolynomialExponentiation.value(150).toString()))
+                .body("digits", equalTo(PolynomialExponentiation.value(150).toString().length()));
+    }
+
+    @Test
+    @DisplayName("Calculations should be exported as Prometheus histograms")
+    void testMetricsEndpoint() {
+        given().when().get("/labseq/12345").then().statusCode(200);
+
+        given()
+            .when().get("/q/metrics")
+            .then()
+                .statusCode(200)
+                .body(containsString("labseq_calculation_seconds_bucket{"))
+                .body(containsString("n_bucket=\"1e4\""))
+                .body(containsString("labseq_cache_weight_bytes"))
+                .body(containsString("labseq_results_total{source=\"long-table\""))
+                .body(containsString("labseq_additions_total"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq/range should stream one JSON line per index")
+    void testRangeStreamsValues() {
+        String body = given()
+            .when().get("/labseq/range?from=0&to=11")
+            .then()
+                .statusCode(200)
+                .contentType(containsString("application/x-ndjson"))
+                .extract().asString();
+
+        String[] lines = body.trim().split("\n");
+        String[] expectedValues = {"0", "1", "0", "1", "1", "1", "1", "2", "2", "2", "3", "4"};
+        assertEquals(expectedValues.length, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].contains("\"n\":" + i + ","), lines[i]);
+            assertTrue(lines[i].contains("\"value\":\"" + expectedValues[i] + "\""), lines[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /labseq/range should honour the step")
+    void testRangeWithStep() {
+        String body = given()
+            .when().get("/labseq/range?from=5000&to=5020&step=10")
+            .then()
+                .statusCode(200)
+                .extract().asString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].contains("\"n\":5020,"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq/range with end before start should return 400")
+    void testRangeWithInvalidBounds() {
+        given()
+            .when().get("/labseq/range?from=10&to=5")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"));
+    }
+
+    @Test
+    @DisplayName("POST /labseq/batch should stream every requested index in request order")
+    void testBatchStreamsInRequestOrder() {
+        int[] indices = {70000, 10, 250000, 5000, 10, 70001};
+        String body = given()
+            .contentType(ContentType.JSON)
+            .body("{\"indices\":[70000,10,250000,5000,10,70001]}")
+            .when().post("/labseq/batch")
+            .then()
+                .statusCode(200)
+                .contentType(containsString("application/x-ndjson"))
+                .extract().asString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(indices.length, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            String expected = PolynomialExponentiation.value(indices[i]).toString();
+            assertTrue(lines[i].startsWith("{\"n\":" + indices[i] + ","), "line " + i);
+            assertTrue(lines[i].contains("\"value\":\"" + expected + "\""), "n=" + indices[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("POST /labseq/batch should reject empty and negative batches")
+    void testBatchRejectsInvalidIndices() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("{\"indices\":[]}")
+            .when().post("/labseq/batch")
+            .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Index"));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("{\"indices\":[5,-1]}")
+            .when().post("/labseq/batch")
+            .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("POST /labseq/batch above the work limit should return 413")
+    void testBatchRejectsTooMuchWork() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("{\"indices\":[2000000000]}")
+            .when().post("/labseq/batch")
+            .then()
+                .statusCode(413)
+                .body("error", equalTo("Work Limit Exceeded"))
+                .body("message", containsString("limit"));
+    }
+
+    @Test
+    @DisplayName("GET /labseq/{n} should carry a strong ETag and an immutable Cache-Control")
+    void testValueIsCacheable() {
+        given()
+            .when().get("/labseq/10?format=hex")
+            .then()
+                .statusCode(200)
+                .header("ETag", equalTo("\"labseq-10-hex\""))
+                .header("Cache-Control", containsString("immutable"))
+                .header("Vary", containsString("Accept-Encoding"));
+    }
+
+    @Test
+    @DisplayName("A matching If-None-Match should return 304 without computing")
+    void testConditionalGetSkipsComputation() {
+        Number before = given().when().get("/labseq/stats").then().extract().path("coalescing.computations");
+
+        given()
+            .header("If-None-Match", "W/\"other\", \"labseq-876543-decimal\"")
+            .when().get("/labseq/876543")
+            .then()
+                .statusCode(304)
+                .header("ETag", equalTo("\"labseq-876543-decimal\""));
+
+        Number after = given().when().get("/labseq/stats").then().extract().path("coalescing.computations");
+        assertEquals(before.longValue(), after.longValue());
+
+        given()
+            .header("If-None-Match", "\"labseq-876543-decimal\"")
+            .when().get("/labseq/-1")
+            .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Large values should be sent gzip-compressed around a stored value")
+    void testLargeValueIsGzipped() {
+        String expected = PolynomialExponentiation.value(400000).toString();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            given()
+                .header("Accept-Encoding", "gzip")
+                .when().get("/labseq/400000")
+                .then()
+                    .statusCode(200)
+                    .header("Content-Encoding", equalTo("gzip"))
+                    .header("ETag", equalTo("\"labseq-400000-decimal-gzip\""))
+                    .body("value", equalTo(expected));
+        }
+
+        // Sem descodificadores o RestAssured deixa de enviar Accept-Encoding
+        given()
+            .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+            .when().get("/labseq/400000")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .header("ETag", equalTo("\"labseq-400000-decimal\""));
+    }
+
+    @Test
+    @DisplayName("Large values should be sent deflate-compressed when only deflate is accepted")
+    void testLargeValueIsDeflated() {
+        String expected = PolynomialExponentiation.value(300000).toString();
+        given()
+            .config(RestAssured.config().decoderConfig(
+                DecoderConfig.decoderConfig().contentDecoders(DecoderConfig.ContentDecoder.DEFLATE)))
+            .when().get("/labseq/300000?format=decimal")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("deflate"))
+                .header("ETag", equalTo("\"labseq-300000-decimal-deflate\""))
+                .body("value", equalTo(expected));
+    }
+
+    @Test
+    @DisplayName("Repeated requests for a large value should be served from the stored value")
+    void testStoredBodyIsReused() {
+        Number before = given().when().get("/labseq/stats").then().extract().path("encodedValues.hits");
+        for (int attempt = 0; attempt < 3; attempt++) {
+            given()
+                .when().get("/labseq/350000?format=hex")
+                .then()
+                    .statusCode(200)
+                    .body("value", equalTo(PolynomialExponentiation.value(350000).toString(16)));
+        }
+        Number after = given().when().get("/labseq/stats").then().extract().path("encodedValues.hits");
+        assertEquals(before.longValue() + 2, after.longValue());
+    }
+
+    @Test
+    @DisplayName("Cached large values should be streamed from off-heap memory in binary form")
+    void testBinaryFromOffHeap() {
+        BigInteger expected = PolynomialExponentiation.value(250000);
+        given().when().get("/labseq/250000").then().statusCode(200);
+
+        byte[] body = given()
+            .accept("application/octet-stream")
+            .when().get("/labseq/250000")
+            .then()
+                .statusCode(200)
+                .header("X-LabSeq-Source", equalTo("cache"))
+                .header("X-LabSeq-Bit-Length", equalTo(String.valueOf(expected.bitLength())))
+                .extract().asByteArray();
+        assertEquals(expected, new BigInteger(body));
+
+        given()
+            .when().get("/labseq/stats")
+            .then()
+                .statusCode(200)
+                .body("offHeap.entries", greaterThanOrEqualTo(1));
+    }
+}
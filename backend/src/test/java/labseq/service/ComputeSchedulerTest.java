@@ -0,0 +1,107 @@
+package labseq.service;
+
+import labseq.exception.ComputeSaturatedException;
+import labseq.model.LabSeqResult;
+import labseq.service.engine.PolynomialExponentiation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compute Scheduler Tests")
+class ComputeSchedulerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ComputeScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject work with a retry hint once the queue is full")
+    void testRejectsWhenSaturated() {
+        scheduler = newScheduler(1, 1);
+
+        CompletableFuture<String> running = scheduler.submit(this::blockUntilReleased);
+        CompletableFuture<String> queued = scheduler.submit(this::blockUntilReleased);
+
+        ComputeSaturatedException exception = assertThrows(ComputeSaturatedException.class,
+            () -> scheduler.submit(this::blockUntilReleased));
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        assertEquals(1, scheduler.getRejectedCount());
+
+        release.countDown();
+        assertEquals("done", running.join());
+        assertEquals("done", queued.join());
+    }
+
+    @Test
+    @DisplayName("Should propagate task failures through the future")
+    void testPropagatesFailures() {
+        scheduler = newScheduler(2, 4);
+
+        CompletableFuture<String> failed = scheduler.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        Exception exception = assertThrows(Exception.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Large values should be rendered on the compute pool even when they cost nothing to find")
+    void testLargeCachedValuesAreOffloaded() {
+        scheduler = newScheduler(1, 4);
+        scheduler.labSeqService = new LabSeqService() {
+            @Override
+            public double estimateCost(int n) {
+                return 0;
+            }
+
+            @Override
+            public LabSeqResult compute(int n) {
+                return new LabSeqResult(PolynomialExponentiation.value(n), CACHE, LabSeqResult.Source.CACHE, 0);
+            }
+        };
+
+        String small = scheduler.schedule(100, result -> Thread.currentThread().getName()).await().indefinitely();
+        String large = scheduler.schedule(1_000_000, result -> Thread.currentThread().getName()).await().indefinitely();
+
+        assertEquals(Thread.currentThread().getName(), small);
+        assertTrue(large.startsWith("labseq-compute-"), large);
+        assertEquals(1, scheduler.getInlineCount());
+        assertEquals(1, scheduler.getOffloadedCount());
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static ComputeScheduler newScheduler(int poolSize, int queueCapacity) {
+        ComputeScheduler scheduler = new ComputeScheduler();
+        scheduler.poolSize = Optional.of(poolSize);
+        scheduler.queueCapacity = queueCapacity;
+        scheduler.inlineThresholdNanos = 1_000_000;
+        scheduler.inlineMaxBytes = 8192;
+        scheduler.metrics = new LabSeqMetrics() {
+            @Override
+            public void recordQueueWait(long nanos) {
+            }
+        };
+        scheduler.init();
+        return scheduler;
+    }
+}
@@ -1,6 +1,11 @@
 package labseq.service;
 
 import labseq.exception.InvalidIndexException;
+import labseq.model.LabSeqResult;
+import labseq.service.engine.LongTable;
+import labseq.service.strategy.FrontierStrategy;
+import labseq.store.Frontier;
+import labseq.store.MemoTable;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -17,6 +22,15 @@ class LabSeqServiceTest {
     @Inject
     LabSeqService labSeqService;
 
+    @Inject
+    MemoTable memoTable;
+
+    @Inject
+    Frontier frontier;
+
+    @Inject
+    FrontierStrategy frontierStrategy;
+
     @Test
     @DisplayName("Should return 0 for index 0")
     void testLabSeqForZero() {
@@ -205,4 +219,75 @@ class LabSeqServiceTest {
             labSeqService.calculate(4);  // First recursive case
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Fast exponentiation should match iterative method")
+    void testLabSeqFastExponentiationMatchesIterative() {
+        for (int i = 0; i <= 2000; i++) {
+            assertEquals(labSeqService.calculateIterative(i), labSeqService.calculateFastExponentiation(i),
+                "Results differ at index " + i);
+        }
+
+        int[] largeIndices = {4095, 4096, 4097, 12345, 65536, 100000};
+        for (int n : largeIndices) {
+            assertEquals(labSeqService.calculateIterative(n), labSeqService.calculateFastExponentiation(n),
+                "Results differ at index " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer indices that fit in a long from the precomputed table")
+    void testLabSeqLongTable() {
+        LabSeqResult result = labSeqService.compute(150);
+
+        assertEquals(LongTable.NAME, result.getStrategy());
+        assertEquals(labSeqService.calculateFastExponentiation(150), result.getValue());
+        assertSame(result, labSeqService.compute(150));
+        assertEquals(LabSeqResult.Source.LONG_TABLE, result.getSource());
+        assertEquals(0, result.getAdditions());
+    }
+
+    @Test
+    @DisplayName("Should report the strategy that produced the value")
+    void testLabSeqComputeReportsStrategy() {
+        LabSeqResult result = labSeqService.compute(2_000_000);
+
+        assertEquals("fast-exponentiation", result.getStrategy());
+        assertFalse(result.isFromCache());
+        assertTrue(result.getCalculationNanos() > 0);
+        assertEquals(LabSeqResult.Source.COMPUTED, result.getSource());
+    }
+
+    @Test
+    @DisplayName("Should report the memo table as the source once a value is held there")
+    void testLabSeqComputeReportsSource() {
+        memoTable.extendTo(4321);
+
+        LabSeqResult result = labSeqService.compute(4321);
+        assertEquals("memo-table", result.getStrategy());
+        assertEquals(LabSeqResult.Source.MEMO_TABLE, result.getSource());
+        assertEquals(0, result.getAdditions());
+        assertTrue(result.isFromCache());
+        assertEquals(labSeqService.calculateIterative(4321), result.getValue());
+    }
+
+    @Test
+    @DisplayName("The frontier strategy should continue from the shared frontier")
+    void testFrontierStrategyContinuesFromFrontier() {
+        int n = frontier.getLastIndex() + 10;
+
+        LabSeqResult walked = frontierStrategy.compute(n);
+        assertEquals(labSeqService.calculateIterative(n), walked.getValue());
+        assertEquals(10, walked.getAdditions());
+        assertEquals(n, frontier.getLastIndex());
+        long advances = frontier.getAdvances();
+
+        LabSeqResult inside = frontierStrategy.compute(n - 2);
+        assertEquals(labSeqService.calculateIterative(n - 2), inside.getValue());
+        assertEquals(LabSeqResult.Source.FRONTIER, inside.getSource());
+        assertEquals(advances, frontier.getAdvances());
+
+        assertEquals(1, frontierStrategy.compute(n + 1).getAdditions());
+        assertEquals(n + 1, frontier.getLastIndex());
+    }
+}
@@ -0,0 +1,93 @@
+package labseq.service;
+
+import labseq.model.LabSeqResult;
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.PolynomialExponentiation;
+import labseq.service.engine.SequenceWalker;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@DisplayName("Request Coalescer Tests")
+class RequestCoalescerTest {
+
+    @Inject
+    RequestCoalescer requestCoalescer;
+
+    @Inject
+    InFlightWalks inFlightWalks;
+
+    @Test
+    @DisplayName("Concurrent requests for the same n should share one computation")
+    void testIdenticalRequestsShareComputation() throws Exception {
+        int n = 123_457;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        long coalescedBefore = requestCoalescer.getCoalescedIdentical();
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<CompletableFuture<LabSeqResult>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(CompletableFuture.supplyAsync(() -> requestCoalescer.execute(n, index -> {
+                executions.incrementAndGet();
+                await(release);
+                return new LabSeqResult(PolynomialExponentiation.value(index), "test", LabSeqResult.Source.COMPUTED, 0);
+            }), executor));
+        }
+
+        // Espera até os quatro seguidores estarem pendurados no cálculo do primeiro
+        while (requestCoalescer.getCoalescedIdentical() - coalescedBefore < 4) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        BigInteger expected = PolynomialExponentiation.value(n);
+        for (CompletableFuture<LabSeqResult> request : requests) {
+            assertEquals(expected, request.get().getValue());
+        }
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("A request attached to a running walk should receive the correct value")
+    void testAttachedRequestReceivesValue() throws Exception {
+        // Longe o suficiente para que o passeio demore segundos e o pedido se registe muito antes de lá chegar
+        int target = 300_000;
+        int n = target - 10;
+        CompletableFuture<BigInteger> walk = CompletableFuture.supplyAsync(
+            () -> inFlightWalks.walk(new SequenceWalker(LabSeqWindow.BASE), target));
+
+        while (inFlightWalks.bestPosition(n) < 0 && !walk.isDone()) {
+            Thread.yield();
+        }
+        assertFalse(walk.isDone(), "walk finished before a request could attach");
+        CompletableFuture<BigInteger> attached = inFlightWalks.attach(n);
+
+        assertNotNull(attached);
+        assertEquals(PolynomialExponentiation.value(target), walk.get());
+        assertEquals(PolynomialExponentiation.value(n), attached.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package labseq.service.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hash Ring Tests")
+class HashRingTest {
+
+    private static final List<String> NODES = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+
+    @Test
+    @DisplayName("Owners should be the same for rings built from the same nodes")
+    void testDeterministic() {
+        HashRing first = new HashRing(NODES, 1000, 128);
+        HashRing second = new HashRing(List.of("http://c:8080", "http://a:8080", "http://b:8080"), 1000, 128);
+        for (int n = 0; n < 1_000_000; n += 997) {
+            assertEquals(first.owner(n), second.owner(n), "n=" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Indices of the same range should share an owner")
+    void testRangesStayTogether() {
+        HashRing ring = new HashRing(NODES, 1000, 128);
+        for (int shard = 0; shard < 100; shard++) {
+            String owner = ring.owner(shard * 1000);
+            assertEquals(owner, ring.owner(shard * 1000 + 1));
+            assertEquals(owner, ring.owner(shard * 1000 + 999));
+        }
+    }
+
+    @Test
+    @DisplayName("Ranges should be spread over all nodes")
+    void testBalanced() {
+        HashRing ring = new HashRing(NODES, 1, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int n = 0; n < 30_000; n++) {
+            counts.merge(ring.owner(n), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        // Com 128 nós virtuais cada nó fica perto de 1/3
+        counts.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, counts.toString()));
+    }
+
+    @Test
+    @DisplayName("Adding a node should only move ranges to the new node")
+    void testAddingNodeMovesFewRanges() {
+        HashRing before = new HashRing(NODES, 1, 128);
+        HashRing after = new HashRing(List.of("http://a:8080", "http://b:8080", "http://c:8080", "http://d:8080"), 1, 128);
+        int moved = 0;
+        for (int n = 0; n < 40_000; n++) {
+            String owner = after.owner(n);
+            if (!owner.equals(before.owner(n))) {
+                assertEquals("http://d:8080", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 6_000 && moved < 14_000, "moved=" + moved);
+    }
+
+    @Test
+    @DisplayName("A ring without nodes should be rejected")
+    void testEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(List.of(), 1000, 128));
+    }
+}
@@ -0,0 +1,55 @@
+package labseq.service.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Decimal Writer Tests")
+class DecimalWriterTest {
+
+    @Test
+    @DisplayName("Should match BigInteger.toString for LabSeq values")
+    void testMatchesToString() throws IOException {
+        for (int n : new int[] {0, 1, 10, 155, 1000, 20000, 100000, 250000}) {
+            assertConverts(PolynomialExponentiation.value(n));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep zero runs and handle powers of ten boundaries")
+    void testBoundaries() throws IOException {
+        for (int exponent : new int[] {1, 18, 19, 63, 1233, 5000, 40000}) {
+            BigInteger power = BigInteger.TEN.pow(exponent);
+            assertConverts(power);
+            assertConverts(power.subtract(BigInteger.ONE));
+            assertConverts(power.add(BigInteger.ONE));
+            assertConverts(power.multiply(power).add(BigInteger.valueOf(7)));
+        }
+    }
+
+    @Test
+    @DisplayName("Digit counts should be exact next to powers of ten")
+    void testDigitsNextToPowersOfTen() {
+        for (int exponent : new int[] {19, 20, 100, 1233, 65536, 300000}) {
+            BigInteger power = BigInteger.TEN.pow(exponent);
+            assertEquals(exponent + 1, DecimalWriter.digits(power));
+            assertEquals(exponent, DecimalWriter.digits(power.subtract(BigInteger.ONE)));
+            assertEquals(exponent + 1, DecimalWriter.digits(power.add(BigInteger.ONE)));
+        }
+    }
+
+    private static void assertConverts(BigInteger value) throws IOException {
+        String expected = value.toString();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DecimalWriter.write(value, out);
+
+        assertEquals(expected, out.toString(StandardCharsets.US_ASCII));
+        assertEquals(expected.length(), DecimalWriter.digits(value));
+    }
+}
@@ -0,0 +1,39 @@
+package labseq.service.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Long Table Tests")
+class LongTableTest {
+
+    @Test
+    @DisplayName("Should hold exactly the values that fit in a long")
+    void testCoversLongRange() {
+        assertTrue(PolynomialExponentiation.value(LongTable.MAX_INDEX).bitLength() <= 63);
+        assertTrue(PolynomialExponentiation.value(LongTable.MAX_INDEX + 1).bitLength() > 63);
+        assertFalse(LongTable.contains(LongTable.MAX_INDEX + 1));
+        assertFalse(LongTable.contains(-1));
+    }
+
+    @Test
+    @DisplayName("Should match the exponentiation engine in every form")
+    void testMatchesEngine() throws IOException {
+        for (int n = 0; n <= LongTable.MAX_INDEX; n++) {
+            BigInteger expected = PolynomialExponentiation.value(n);
+            assertEquals(expected.longValue(), LongTable.value(n));
+            assertEquals(expected, LongTable.bigValue(n));
+            assertEquals(expected.toString().length(), LongTable.digitCount(n));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            LongTable.writeDigits(n, out);
+            assertEquals(expected.toString(), out.toString(StandardCharsets.US_ASCII));
+        }
+    }
+}
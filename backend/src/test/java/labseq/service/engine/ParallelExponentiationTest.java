@@ -0,0 +1,50 @@
+package labseq.service.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Parallel Exponentiation Tests")
+class ParallelExponentiationTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should match the sequential engine when every squaring forks and splits")
+    void testMatchesSequentialEngine() {
+        // Limiares mínimos para exercitar as tarefas e a divisão de Karatsuba em valores pequenos
+        ParallelExponentiation engine = new ParallelExponentiation(pool, 1, 64);
+        for (int n : new int[] {0, 1, 5, 100, 4097, 50_000}) {
+            assertEquals(PolynomialExponentiation.value(n), engine.value(n), "n=" + n);
+        }
+        assertArrayEquals(PolynomialExponentiation.power(20_000), engine.power(20_000, 0, null, null));
+    }
+
+    @Test
+    @DisplayName("Should resume from a prefix like the sequential engine")
+    void testResumesFromPrefix() {
+        ParallelExponentiation engine = new ParallelExponentiation(pool, 1, 64);
+        int n = 0b1011_0110_1101;
+        int prefix = n >>> 5;
+        BigInteger[] prefixPower = PolynomialExponentiation.power(prefix);
+
+        assertTrue(Arrays.equals(PolynomialExponentiation.power(n), engine.power(n, prefix, prefixPower, null)));
+    }
+}
@@ -0,0 +1,63 @@
+package labseq.service.strategy;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@DisplayName("LabSeq Strategy Selector Tests")
+class LabSeqStrategySelectorTest {
+
+    @Inject
+    LabSeqStrategySelector selector;
+
+    @Test
+    @DisplayName("All strategies should be discovered")
+    void testAllStrategiesDiscovered() {
+        assertEquals(5, selector.getStrategies().size());
+    }
+
+    @Test
+    @DisplayName("Every supporting strategy should agree on the value")
+    void testStrategiesAgree() {
+        int[] indices = {0, 3, 4, 10, 500, 999, 1000, 4321};
+        for (int n : indices) {
+            BigInteger expected = selector.byName(LinearIterationStrategy.NAME).compute(n).getValue();
+            for (LabSeqStrategy strategy : selector.getStrategies()) {
+                if (strategy.supports(n)) {
+                    assertEquals(expected, strategy.compute(n).getValue(),
+                        strategy.name() + " differs at index " + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick fast exponentiation for huge indices")
+    void testSelectsFastExponentiationForHugeIndex() {
+        assertEquals(FastExponentiationStrategy.NAME, selector.select(5_000_000).name());
+    }
+
+    @Test
+    @DisplayName("Should pick the memo table once it holds the value")
+    void testSelectsMemoTableForMemoizedIndex() {
+        LabSeqStrategy memo = selector.byName(MemoTableStrategy.NAME);
+        memo.compute(200);
+
+        assertEquals(MemoTableStrategy.NAME, selector.select(200).name());
+        assertTrue(memo.compute(200).isFromCache());
+    }
+
+    @Test
+    @DisplayName("Should seed from a checkpoint left by an earlier walk")
+    void testSelectsCheckpointAfterWalk() {
+        selector.byName(LinearIterationStrategy.NAME).compute(7000);
+
+        assertEquals(CheckpointSeededStrategy.NAME, selector.select(7010).name());
+    }
+}
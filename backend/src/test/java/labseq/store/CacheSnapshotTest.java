@@ -0,0 +1,69 @@
+package labseq.store;
+
+import labseq.service.engine.PolynomialExponentiation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache Snapshot Tests")
+class CacheSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Entries should survive a write and read in the same order")
+    void testRoundTrip() throws IOException {
+        Map<Integer, BigInteger> entries = new LinkedHashMap<>();
+        for (int n : new int[] {5000, 0, 200, 12345}) {
+            entries.put(n, PolynomialExponentiation.value(n));
+        }
+        Path file = tempDir.resolve("snapshot.bin");
+        CacheSnapshot.write(file, entries);
+
+        Map<Integer, BigInteger> read = CacheSnapshot.read(file);
+        assertEquals(entries, read);
+        assertEquals(List.copyOf(entries.keySet()), List.copyOf(read.keySet()));
+    }
+
+    @Test
+    @DisplayName("A damaged or truncated snapshot should be rejected")
+    void testRejectsDamagedSnapshot() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+        CacheSnapshot.write(file, Map.of(1000, PolynomialExponentiation.value(1000)));
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CacheSnapshot.read(file));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IOException.class, () -> CacheSnapshot.read(file));
+    }
+
+    @Test
+    @DisplayName("A corrupt length should be rejected before anything is allocated for it")
+    void testRejectsLengthBeyondFile() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+        CacheSnapshot.write(file, Map.of(1000, PolynomialExponentiation.value(1000)));
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Comprimento da primeira entrada (depois do cabeçalho e de n) a Integer.MAX_VALUE
+        ByteBuffer.wrap(bytes).putInt(16, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+        IOException exception = assertThrows(IOException.class, () -> CacheSnapshot.read(file));
+        assertTrue(exception.getMessage().contains("Corrupt snapshot"));
+    }
+}
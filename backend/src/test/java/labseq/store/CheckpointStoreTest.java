@@ -0,0 +1,90 @@
+package labseq.store;
+
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.PolynomialExponentiation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Checkpoint Store Tests")
+class CheckpointStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CheckpointStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Checkpoints should survive a reopen")
+    void testCheckpointsSurviveReopen() {
+        Path file = tempDir.resolve("checkpoints.bin");
+        store = open(file);
+        store.record(PolynomialExponentiation.window(1000));
+        store.record(PolynomialExponentiation.window(2000));
+        store.close();
+
+        store = open(file);
+        assertEquals(2, store.size());
+        LabSeqWindow window = store.floor(2500);
+        assertEquals(2000, window.getLastIndex());
+        assertEquals(PolynomialExponentiation.value(2000), window.get(2000));
+        assertEquals(PolynomialExponentiation.value(1997), window.get(1997));
+    }
+
+    @Test
+    @DisplayName("A torn record at the tail should be truncated on open")
+    void testTornRecordIsTruncated() throws IOException {
+        Path file = tempDir.resolve("checkpoints.bin");
+        store = open(file);
+        store.record(PolynomialExponentiation.window(1000));
+        store.close();
+        long validSize = Files.size(file);
+
+        // Simula uma escrita interrompida: cabeçalho de registo sem o payload completo
+        Files.write(file, new byte[] {0, 0, 1, 0, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        store = open(file);
+        assertEquals(1, store.size());
+        assertEquals(validSize, Files.size(file));
+        assertEquals(1000, store.floor(1999).getLastIndex());
+    }
+
+    @Test
+    @DisplayName("Only aligned indices up to the limit should be stored")
+    void testOnlyAlignedIndicesStored() {
+        store = open(tempDir.resolve("checkpoints.bin"));
+        store.record(PolynomialExponentiation.window(1500));
+        store.record(PolynomialExponentiation.window(20000));
+
+        assertEquals(0, store.size());
+        assertNull(store.floor(30000));
+        assertEquals(9000, store.alignedIndex(9999));
+        assertEquals(-1, store.alignedIndex(20001));
+    }
+
+    private static CheckpointStore open(Path file) {
+        CheckpointStore store = new CheckpointStore();
+        store.interval = 1000;
+        store.maxIndex = 10000;
+        store.maxBytes = Long.MAX_VALUE;
+        store.path = Optional.of(file.toString());
+        store.open();
+        return store;
+    }
+}
@@ -0,0 +1,59 @@
+package labseq.store;
+
+import labseq.service.engine.LabSeqWindow;
+import labseq.service.engine.PolynomialExponentiation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Frontier Tests")
+class FrontierTest {
+
+    @Test
+    @DisplayName("The frontier should only move up, whatever order concurrent walks publish in")
+    void testOnlyMovesUp() throws InterruptedException {
+        Frontier frontier = new Frontier();
+        frontier.maxIndex = 10_000;
+        LabSeqWindow[] windows = new LabSeqWindow[200];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = PolynomialExponentiation.window(10 + i * 7);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread;
+            executor.execute(() -> {
+                for (int i = 0; i < windows.length; i++) {
+                    frontier.offer(windows[(i * 31 + offset * 17) % windows.length]);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        LabSeqWindow highest = windows[windows.length - 1];
+        assertSame(highest, frontier.current());
+        assertEquals(highest.get(highest.getLastIndex() - 2), frontier.get(highest.getLastIndex() - 2));
+        assertNull(frontier.get(highest.getLastIndex() - 4));
+        assertFalse(frontier.offer(windows[0]));
+    }
+
+    @Test
+    @DisplayName("Windows above the limit should not be published")
+    void testBoundedByMaxIndex() {
+        Frontier frontier = new Frontier();
+        frontier.maxIndex = 1000;
+
+        assertTrue(frontier.offer(PolynomialExponentiation.window(1000)));
+        assertFalse(frontier.offer(PolynomialExponentiation.window(1001)));
+        assertEquals(1000, frontier.getLastIndex());
+        assertEquals(1000, frontier.floorIndex(5000));
+        assertEquals(-1, frontier.floorIndex(999));
+        assertEquals(1, frontier.getAdvances());
+    }
+}
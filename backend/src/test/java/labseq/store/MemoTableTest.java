@@ -0,0 +1,85 @@
+package labseq.store;
+
+import labseq.service.engine.PolynomialExponentiation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Memo Table Tests")
+class MemoTableTest {
+
+    private MemoTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new MemoTable();
+        table.maxIndex = 5000;
+    }
+
+    @Test
+    @DisplayName("Should fill values across chunk boundaries")
+    void testValuesAcrossChunks() {
+        assertEquals(PolynomialExponentiation.value(4321), table.extendTo(4321));
+        assertEquals(4322, table.size());
+
+        for (int n : new int[] {0, 1, 2, 3, 4, 1023, 1024, 1025, 2048, 4321}) {
+            assertEquals(PolynomialExponentiation.value(n), table.get(n), "index " + n);
+        }
+        assertNull(table.get(4322));
+    }
+
+    @Test
+    @DisplayName("Should reject indices above the limit")
+    void testRejectsAboveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> table.extendTo(5001));
+    }
+
+    @Test
+    @DisplayName("Readers should always see complete values while the table grows")
+    void testConcurrentReaders() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    int checked = 0;
+                    while (writing.get()) {
+                        int size = table.size();
+                        int n = ThreadLocalRandom.current().nextInt(size);
+                        BigInteger value = table.get(n);
+                        assertNotNull(value);
+                        if (n >= 4) {
+                            assertEquals(table.get(n - 4).add(table.get(n - 3)), value);
+                        }
+                        checked++;
+                    }
+                    return checked;
+                }));
+            }
+            executor.submit(() -> {
+                for (int n = 4; n <= 5000; n += 7) {
+                    table.extendTo(n);
+                }
+                writing.set(false);
+            }).get();
+
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get() > 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
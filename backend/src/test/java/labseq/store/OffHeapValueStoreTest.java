@@ -0,0 +1,62 @@
+package labseq.store;
+
+import labseq.service.engine.PolynomialExponentiation;
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Off-Heap Value Store Tests")
+class OffHeapValueStoreTest {
+
+    @Test
+    @DisplayName("Values should read back unchanged, as BigInteger and as bytes")
+    void testRoundTrip() {
+        OffHeapValueStore store = new OffHeapValueStore(1 << 20, 16, Duration.ofHours(1));
+        BigInteger value = PolynomialExponentiation.value(50_000);
+        assertTrue(store.accepts(value));
+        assertFalse(store.accepts(BigInteger.valueOf(12345)));
+
+        store.put(50_000, value);
+        assertTrue(store.contains(50_000));
+        assertEquals(value, store.get(50_000));
+
+        ByteBuf lease = store.lease(50_000);
+        try {
+            byte[] bytes = new byte[lease.readableBytes()];
+            lease.getBytes(lease.readerIndex(), bytes);
+            assertArrayEquals(value.toByteArray(), bytes);
+            assertEquals(value.bitLength(), OffHeapValueStore.bitLength(lease));
+        } finally {
+            lease.release();
+        }
+        assertNull(store.get(1));
+    }
+
+    @Test
+    @DisplayName("Should stay within its budget, while leased values stay readable")
+    void testBudgetAndLeases() {
+        long budget = 64 * 1024;
+        OffHeapValueStore store = new OffHeapValueStore(budget, 16, Duration.ofHours(1));
+        BigInteger first = BigInteger.ONE.shiftLeft(20 * 8 * 1024).subtract(BigInteger.ONE);
+        store.put(0, first);
+        ByteBuf lease = store.lease(0);
+
+        for (int n = 1; n < 20; n++) {
+            store.put(n, BigInteger.ONE.shiftLeft(20 * 8 * 1024 + n));
+            store.cleanUp();
+        }
+
+        assertTrue(store.getUsedBytes() <= budget);
+        assertTrue(store.getStats().evictionCount() > 0);
+        // Mesmo que o 0 tenha sido removido, o empréstimo mantém a memória válida
+        assertEquals(first.bitLength(), OffHeapValueStore.bitLength(lease));
+        // A admissão do Caffeine decide se o 0 sai; o último release só liberta se ele tiver saído
+        boolean evicted = !store.contains(0);
+        assertEquals(evicted, lease.release());
+    }
+}
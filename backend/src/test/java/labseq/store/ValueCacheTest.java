@@ -0,0 +1,90 @@
+package labseq.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Value Cache Tests")
+class ValueCacheTest {
+
+    private ValueCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ValueCache();
+        cache.maxHeapShare = 0.0001;
+        cache.expireAfterWrite = Duration.ofHours(1);
+        cache.init();
+    }
+
+    @Test
+    @DisplayName("Should weigh entries by the size of the value")
+    void testWeighsBySize() {
+        cache.put(10, BigInteger.valueOf(3));
+        cache.put(20, BigInteger.ONE.shiftLeft(80_000));
+        cache.cleanUp();
+
+        assertEquals(2 * ValueCache.ENTRY_OVERHEAD_BYTES + 10_000, cache.getWeightedBytes());
+    }
+
+    @Test
+    @DisplayName("Should stay within its byte budget and count evictions")
+    void testEnforcesByteBudget() {
+        Random random = new Random(7);
+        int valueBits = (int) Math.max(8, cache.getMaxBytes() / 4 * 8);
+        for (int n = 0; n < 20; n++) {
+            cache.put(n, new BigInteger(valueBits, random));
+            cache.cleanUp();
+        }
+
+        assertTrue(cache.getWeightedBytes() <= cache.getMaxBytes());
+        assertTrue(cache.getStats().evictionCount() > 0);
+        assertTrue(cache.getEntryCount() < 20);
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses but not lookups made for cost estimates")
+    void testCountsHitsAndMisses() {
+        cache.put(5, BigInteger.ONE);
+
+        assertTrue(cache.contains(5));
+        assertEquals(BigInteger.ONE, cache.get(5));
+        assertNull(cache.get(6));
+
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    @DisplayName("Large values should go to the off-heap tier, be read back once, and small ones stay on the heap")
+    void testLargeValuesGoOffHeap() {
+        ValueCache tiered = new ValueCache();
+        tiered.maxHeapShare = 0.01;
+        tiered.expireAfterWrite = Duration.ofHours(1);
+        tiered.offHeapMaxBytes = 1 << 20;
+        tiered.offHeapMinBytes = 1024;
+        tiered.rehydratedMaxBytes = 1 << 20;
+        tiered.init();
+
+        BigInteger large = BigInteger.ONE.shiftLeft(80_000).add(BigInteger.TEN);
+        tiered.put(1, BigInteger.TWO);
+        tiered.put(2, large);
+        tiered.cleanUp();
+
+        assertEquals(1, tiered.getEntryCount());
+        assertEquals(1, tiered.getOffHeap().orElseThrow().getEntryCount());
+        assertTrue(tiered.contains(2));
+        assertEquals(large, tiered.get(2));
+        // A segunda leitura vem da cópia no heap, mas conta na camada fora do heap
+        assertSame(tiered.get(2), tiered.get(2));
+        assertEquals(3, tiered.getOffHeap().orElseThrow().getStats().hitCount());
+        assertEquals(BigInteger.TWO, tiered.get(1));
+        assertEquals(2, tiered.hottest(10).size());
+    }
+}
@@ -0,0 +1,45 @@
+package labseq.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line, but always attaches the
+ * GC profiler (allocation rate per operation) and, unless -rf/-rff say otherwise, writes the
+ * results as JSON to jmh-result.json so runs from different releases can be compared.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        boolean gcRequested = commandLine.getProfilers().stream()
+            .anyMatch(profiler -> profiler.getKlass().equals(GCProfiler.class.getName())
+                || profiler.getKlass().equals("gc"));
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        builder.resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+        builder.result(commandLine.getResult().orElse("jmh-result.json"));
+        if (!gcRequested) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        Options options = builder.build();
+
+        Runner runner = new Runner(options);
+        if (commandLine.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,76 @@
+package labseq.benchmarks;
+
+import labseq.service.engine.ParallelExponentiation;
+import labseq.service.engine.PolynomialExponentiation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup curve of the parallel exponentiation: one l(n) computed with a pool of 1..32
+ * workers, against the sequential engine as the baseline. Thread counts above the machine's
+ * cores only add scheduling overhead and show where the curve flattens.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+
+        @Param({"1000000", "10000000", "50000000"})
+        int n;
+
+        @Param({"1", "2", "4", "8", "16", "32"})
+        int threads;
+
+        private ForkJoinPool pool;
+        private ParallelExponentiation engine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new ForkJoinPool(threads);
+            engine = new ParallelExponentiation(pool);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdownNow();
+        }
+    }
+
+    // Estado próprio, sem threads: a referência corre uma vez por n e não uma vez por pool
+    @State(Scope.Benchmark)
+    public static class Index {
+
+        @Param({"1000000", "10000000", "50000000"})
+        int n;
+    }
+
+    @Benchmark
+    public BigInteger parallel(Pool state) {
+        return state.engine.value(state.n);
+    }
+
+    @Benchmark
+    public BigInteger sequential(Index state) {
+        return PolynomialExponentiation.value(state.n);
+    }
+}
@@ -0,0 +1,89 @@
+package labseq.benchmarks;
+
+import labseq.model.LabSeqResponse;
+import labseq.model.ValueFormat;
+import labseq.resource.LabSeqResponseWriter;
+import labseq.service.engine.PolynomialExponentiation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an already computed l(n) into a response body: Jackson over the String
+ * value (the original path), the streaming writer in each format, and the raw bytes.
+ * Bodies are written to a null stream, so only conversion and copying are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int n;
+
+    private BigInteger value;
+    private ObjectMapper objectMapper;
+    private LabSeqResponseWriter writer;
+    private OutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        value = PolynomialExponentiation.value(n);
+        objectMapper = new ObjectMapper();
+        writer = new LabSeqResponseWriter();
+        sink = OutputStream.nullOutputStream();
+    }
+
+    @Benchmark
+    public LabSeqResponse jackson() throws IOException {
+        LabSeqResponse response = new LabSeqResponse(n, value, 0, false);
+        objectMapper.writeValue(sink, response);
+        return response;
+    }
+
+    @Benchmark
+    public LabSeqResponse streamingDecimal() throws IOException {
+        return stream(ValueFormat.DECIMAL);
+    }
+
+    @Benchmark
+    public LabSeqResponse streamingHex() throws IOException {
+        return stream(ValueFormat.HEX);
+    }
+
+    @Benchmark
+    public LabSeqResponse streamingBase64() throws IOException {
+        return stream(ValueFormat.BASE64);
+    }
+
+    @Benchmark
+    public byte[] binary() {
+        return value.toByteArray();
+    }
+
+    private LabSeqResponse stream(ValueFormat format) throws IOException {
+        LabSeqResponse response = new LabSeqResponse(n, value, 0, false, format);
+        writer.writeTo(response, LabSeqResponse.class, LabSeqResponse.class, null,
+            MediaType.APPLICATION_JSON_TYPE, null, sink);
+        return response;
+    }
+}
@@ -0,0 +1,138 @@
+package labseq.benchmarks;
+
+import labseq.service.InFlightWalks;
+import labseq.service.ServiceFixtures;
+import labseq.service.engine.PolynomialExponentiation;
+import labseq.service.strategy.CheckpointSeededStrategy;
+import labseq.service.strategy.FastExponentiationStrategy;
+import labseq.service.strategy.LinearIterationStrategy;
+import labseq.service.strategy.MemoTableStrategy;
+import labseq.service.strategy.StrategyFixtures;
+import labseq.store.CheckpointStore;
+import labseq.store.StoreFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to compute l(n) with each strategy, over the range of n each one supports.
+ *
+ * The memo table is measured empty (filled up to n on every call) and already holding l(n)
+ * (a single array read). The checkpoint strategy starts from a store
+ * seeded up to its limit, as it would be once the service has been running for a while.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    // A tabela só é suportada até labseq.memo.max-index
+    @State(Scope.Thread)
+    public static class MemoIndex {
+
+        @Param({"10", "100", "1000", "10000"})
+        int n;
+    }
+
+    // A caminhada linear a 10^7 demora minutos por operação
+    @State(Scope.Thread)
+    public static class WalkIndex {
+
+        @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+        int n;
+    }
+
+    @State(Scope.Thread)
+    public static class AnyIndex {
+
+        @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+        int n;
+    }
+
+    @State(Scope.Thread)
+    public static class ColdMemo {
+
+        MemoTableStrategy strategy;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            strategy = StrategyFixtures.memoTable(StoreFixtures.memoTable());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WarmMemo {
+
+        MemoTableStrategy strategy;
+
+        @Setup(Level.Trial)
+        public void setUp(MemoIndex index) {
+            strategy = StrategyFixtures.memoTable(StoreFixtures.memoTable());
+            strategy.compute(index.n);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Strategies {
+
+        LinearIterationStrategy iterative;
+        CheckpointSeededStrategy checkpointSeeded;
+        FastExponentiationStrategy fastExponentiation;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            CheckpointStore store = StoreFixtures.checkpointStore();
+            InFlightWalks walks = ServiceFixtures.inFlightWalks(store, StoreFixtures.frontier());
+            iterative = StrategyFixtures.iterative(walks);
+            checkpointSeeded = StrategyFixtures.checkpointSeeded(store, walks);
+            fastExponentiation = StrategyFixtures.fastExponentiation(store, walks, ServiceFixtures.sequentialEngine());
+            // Todas as janelas até ao limite do store, para que cada n tenha um checkpoint abaixo
+            iterative.compute(200_000);
+        }
+    }
+
+    @Benchmark
+    public BigInteger memoTableCold(MemoIndex index, ColdMemo memo) {
+        return memo.strategy.compute(index.n).getValue();
+    }
+
+    @Benchmark
+    public BigInteger memoTableWarm(MemoIndex index, WarmMemo memo) {
+        return memo.strategy.compute(index.n).getValue();
+    }
+
+    @Benchmark
+    public BigInteger iterative(WalkIndex index, Strategies strategies) {
+        return strategies.iterative.compute(index.n).getValue();
+    }
+
+    @Benchmark
+    public BigInteger checkpointSeeded(WalkIndex index, Strategies strategies) {
+        return strategies.checkpointSeeded.compute(index.n).getValue();
+    }
+
+    @Benchmark
+    public BigInteger fastExponentiation(AnyIndex index, Strategies strategies) {
+        return strategies.fastExponentiation.compute(index.n).getValue();
+    }
+
+    // Sem checkpoints nem InFlightWalks: só o motor
+    @Benchmark
+    public BigInteger polynomialExponentiation(AnyIndex index) {
+        return PolynomialExponentiation.value(index.n);
+    }
+}
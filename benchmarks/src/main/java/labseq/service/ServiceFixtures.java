@@ -0,0 +1,32 @@
+package labseq.service;
+
+import labseq.store.CheckpointStore;
+import labseq.store.Frontier;
+
+import java.util.Optional;
+
+/**
+ * Service beans wired by hand for the benchmarks, without starting Quarkus.
+ */
+public final class ServiceFixtures {
+
+    private ServiceFixtures() {}
+
+    public static InFlightWalks inFlightWalks(CheckpointStore checkpointStore, Frontier frontier) {
+        InFlightWalks walks = new InFlightWalks();
+        walks.checkpointStore = checkpointStore;
+        walks.frontier = frontier;
+        return walks;
+    }
+
+    /**
+     * An engine that always uses the sequential exponentiation; ParallelBenchmark measures the pool.
+     */
+    public static ParallelEngine sequentialEngine() {
+        ParallelEngine engine = new ParallelEngine();
+        engine.maxThreads = Optional.of(1);
+        engine.minIndex = 1000000;
+        engine.init();
+        return engine;
+    }
+}
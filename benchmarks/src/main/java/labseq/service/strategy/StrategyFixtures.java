@@ -0,0 +1,42 @@
+package labseq.service.strategy;
+
+import labseq.service.InFlightWalks;
+import labseq.service.ParallelEngine;
+import labseq.store.CheckpointStore;
+import labseq.store.MemoTable;
+
+/**
+ * Strategies with their dependencies given explicitly, for the benchmarks.
+ */
+public final class StrategyFixtures {
+
+    private StrategyFixtures() {}
+
+    public static MemoTableStrategy memoTable(MemoTable memoTable) {
+        MemoTableStrategy strategy = new MemoTableStrategy();
+        strategy.memoTable = memoTable;
+        return strategy;
+    }
+
+    public static LinearIterationStrategy iterative(InFlightWalks inFlightWalks) {
+        LinearIterationStrategy strategy = new LinearIterationStrategy();
+        strategy.inFlightWalks = inFlightWalks;
+        return strategy;
+    }
+
+    public static CheckpointSeededStrategy checkpointSeeded(CheckpointStore checkpointStore, InFlightWalks inFlightWalks) {
+        CheckpointSeededStrategy strategy = new CheckpointSeededStrategy();
+        strategy.checkpointStore = checkpointStore;
+        strategy.inFlightWalks = inFlightWalks;
+        return strategy;
+    }
+
+    public static FastExponentiationStrategy fastExponentiation(CheckpointStore checkpointStore, InFlightWalks inFlightWalks,
+                                                                ParallelEngine parallelEngine) {
+        FastExponentiationStrategy strategy = new FastExponentiationStrategy();
+        strategy.checkpointStore = checkpointStore;
+        strategy.inFlightWalks = inFlightWalks;
+        strategy.parallelEngine = parallelEngine;
+        return strategy;
+    }
+}
@@ -0,0 +1,35 @@
+package labseq.store;
+
+import java.util.Optional;
+
+/**
+ * Stores configured with the defaults from application.properties, for the benchmarks.
+ * Lives in the stores' package so it sets their configuration fields like the tests do.
+ * Checkpoints stay in memory.
+ */
+public final class StoreFixtures {
+
+    private StoreFixtures() {}
+
+    public static CheckpointStore checkpointStore() {
+        CheckpointStore store = new CheckpointStore();
+        store.interval = 1000;
+        store.maxIndex = 200000;
+        store.path = Optional.empty();
+        store.maxBytes = 1L << 30;
+        store.open();
+        return store;
+    }
+
+    public static MemoTable memoTable() {
+        MemoTable table = new MemoTable();
+        table.maxIndex = 10000;
+        return table;
+    }
+
+    public static Frontier frontier() {
+        Frontier frontier = new Frontier();
+        frontier.maxIndex = 1000000;
+        return frontier;
+    }
+}
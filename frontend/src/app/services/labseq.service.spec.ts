@@ -26,6 +26,26 @@ describe('LabseqService', () => {
     expect(service).toBeTruthy();
   });
 
+  // ========== TESTES DE getLabSeqRange() ==========
+
+  describe('getLabSeqRange', () => {
+    it('should parse one value per NDJSON line', () => {
+      const body = '{"n":0,"value":"0","digits":1}\n{"n":5,"value":"1","digits":1}\n{"n":10,"value":"3","digits":1}\n';
+
+      service.getLabSeqRange(0, 10, 5).subscribe((items) => {
+        expect(items.length).toBe(3);
+        expect(items[2].n).toBe(10);
+        expect(items[2].value).toBe('3');
+      });
+
+      const req = httpMock.expectOne(r => r.url === `${apiUrl}/labseq/range`);
+      expect(req.request.params.get('from')).toBe('0');
+      expect(req.request.params.get('to')).toBe('10');
+      expect(req.request.params.get('step')).toBe('5');
+      req.flush(body);
+    });
+  });
+
   // ========== TESTES DE getLabSeq() ==========
 
   describe('getLabSeq', () => {
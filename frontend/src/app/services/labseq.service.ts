@@ -1,15 +1,26 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpErrorResponse } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
-import { catchError, retry } from 'rxjs/operators';
+import { catchError, map, retry } from 'rxjs/operators';
 import { environment } from '../../environments/environment';
 
 export interface LabSeqResponse {
   n: number;              
   value: string;          
   calculationTime: number; 
+  calculationNanos?: number;
   fromCache: boolean;     
   digits: number;         
+  strategy?: string;
+  bitLength?: number;
+  format?: 'decimal' | 'hex' | 'base64';
+  source?: 'long-table' | 'memo-table' | 'cache' | 'checkpoint' | 'frontier' | 'in-flight' | 'computed';
+  additions?: number;
+}
+export interface LabSeqRangeItem {
+  n: number;
+  value: string;
+  digits: number;
 }
 export interface LabSeqError {
   error: string;
@@ -35,6 +46,33 @@ export class LabseqService {
   }
 
 
+  // Um único pedido em vez de um GET por índice; o backend devolve NDJSON (uma linha por valor)
+  getLabSeqRange(from: number, to: number, step: number = 1): Observable<LabSeqRangeItem[]> {
+    return this.http.get(`${this.apiUrl}/labseq/range`, {
+      params: { from, to, step },
+      responseType: 'text'
+    }).pipe(
+      map(body => body.split('\n')
+        .filter(line => line.trim().length > 0)
+        .map(line => JSON.parse(line) as LabSeqRangeItem)),
+      catchError(this.handleError)
+    );
+  }
+
+
+  // Índices dispersos num só pedido; os resultados vêm pela ordem pedida
+  getLabSeqBatch(indices: number[]): Observable<LabSeqRangeItem[]> {
+    return this.http.post(`${this.apiUrl}/labseq/batch`, { indices }, {
+      responseType: 'text'
+    }).pipe(
+      map(body => body.split('\n')
+        .filter(line => line.trim().length > 0)
+        .map(line => JSON.parse(line) as LabSeqRangeItem)),
+      catchError(this.handleError)
+    );
+  }
+
+
   checkHealth(): Observable<any> {
     return this.http.get(`${this.apiUrl}/labseq/health`)
       .pipe(